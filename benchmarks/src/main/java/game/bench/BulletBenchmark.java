@@ -0,0 +1,145 @@
+package game.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import game.app.GameConfig;
+import game.gameplay.BulletSystem;
+import game.gameplay.DistanceField;
+import game.gameplay.MazeGenerator;
+import game.gameplay.MazeGrid;
+import game.gameplay.Player;
+import game.gameplay.WallRays;
+import game.gameplay.enemies.Enemy;
+import game.gameplay.enemies.EnemyGrid;
+import game.gameplay.enemies.EnemySpawning;
+import game.gameplay.enemies.EnemyType;
+
+/**
+ * Per-tick bullet work: moving the pool, and the player-bullet vs enemy hit test
+ * (spatial grid vs the old all-pairs loop). "11/20" is the final level, the other
+ * rows are stress scenarios.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BulletBenchmark {
+
+    @Param({"11/20", "200/500", "1000/2000"})
+    public String enemiesBullets;
+
+    private static final int   SIZE = 101;
+    private static final float DT   = (float) GameConfig.SIM_DT;
+
+    private BulletSystem bullets;
+    private List<Enemy>  enemies;
+    private EnemyGrid    enemyGrid;
+
+    // Pre-rolled spawns used to keep the pool topped up between ticks
+    private float[] spawnX, spawnY;
+    private Player.Direction[] spawnDir;
+    private int nextSpawn;
+    private int bulletCount;
+
+    @Setup
+    public void setUp() {
+        String[] eb = enemiesBullets.split("/");
+        int enemyCount = Integer.parseInt(eb[0]);
+        bulletCount    = Integer.parseInt(eb[1]);
+
+        Random rand = new Random(42);
+        MazeGrid grid = new MazeGenerator(SIZE, SIZE, 42L).getGrid();
+        DistanceField field = new DistanceField(grid);
+        bullets   = new BulletSystem(grid, new WallRays(grid), bulletCount);
+        enemyGrid = new EnemyGrid(grid);
+
+        enemies = new ArrayList<>();
+        for (int i = 0; i < enemyCount; i++) {
+            int[] cell = randomOpenCell(grid, rand);
+            enemies.add(EnemySpawning.create(EnemyType.NORMAL,
+                    grid.cellCenterX(cell[1]), grid.cellCenterY(cell[0]), grid, field));
+        }
+
+        int n = 4096;
+        spawnX = new float[n];
+        spawnY = new float[n];
+        spawnDir = new Player.Direction[n];
+        for (int i = 0; i < n; i++) {
+            int[] cell = randomOpenCell(grid, rand);
+            spawnX[i]   = grid.cellCenterX(cell[1]);
+            spawnY[i]   = grid.cellCenterY(cell[0]);
+            spawnDir[i] = Player.Direction.values()[rand.nextInt(4)];
+        }
+        topUp();
+    }
+
+    private static int[] randomOpenCell(MazeGrid grid, Random rand) {
+        int r, c;
+        do {
+            r = rand.nextInt(grid.getRows());
+            c = rand.nextInt(grid.getCols());
+        } while (grid.isWall(r, c));
+        return new int[]{r, c};
+    }
+
+    private void topUp() {
+        while (bullets.getCount() < bulletCount) {
+            int i = nextSpawn++ & (spawnX.length - 1);
+            bullets.spawn(spawnX[i], spawnY[i], spawnDir[i], 1f, BulletSystem.OWNER_PLAYER);
+        }
+    }
+
+    /** One tick of bullet movement (includes refilling bullets that expired). */
+    @Benchmark
+    public int update() {
+        bullets.update(DT);
+        topUp();
+        return bullets.getCount();
+    }
+
+    /** Grid rebuild + one hit query per bullet, as in GameWorld.tick. */
+    @Benchmark
+    public int collideGrid() {
+        enemyGrid.rebuild(enemies);
+        int hits = 0;
+        for (int i = 0; i < bullets.getCount(); i++) {
+            if (enemyGrid.findHit(bullets.getX(i), bullets.getY(i)) >= 0) hits++;
+        }
+        return hits;
+    }
+
+    /** The original all-pairs loop, kept as a baseline. */
+    @Benchmark
+    public int collideBruteForce() {
+        int hits = 0;
+        for (int i = 0; i < bullets.getCount(); i++) {
+            float bx = bullets.getX(i), by = bullets.getY(i);
+            for (int j = 0; j < enemies.size(); j++) {
+                Enemy en = enemies.get(j);
+                if (Math.abs(bx - en.getX()) < en.getSize() &&
+                    Math.abs(by - en.getY()) < en.getSize()) {
+                    hits++;
+                    break;
+                }
+            }
+        }
+        return hits;
+    }
+}
@@ -0,0 +1,51 @@
+package game.bench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import game.app.GameConfig;
+import game.app.GameState;
+import game.gameplay.GameWorld;
+
+/** A whole headless simulation tick of a real level, player idle and firing. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameWorldBenchmark {
+
+    @Param({"1", "5"})
+    public int level;
+
+    private static final float DT = (float) GameConfig.SIM_DT;
+
+    private GameWorld world;
+    private Random    rand;
+
+    @Setup
+    public void setUp() {
+        rand  = new Random(7);
+        world = new GameWorld(level, rand);
+    }
+
+    @Benchmark
+    public long tick() {
+        if (world.getState() != GameState.PLAYING) world = new GameWorld(level, rand);
+        world.tick(DT, 0, 0, true);
+        return world.getTickCount();
+    }
+}
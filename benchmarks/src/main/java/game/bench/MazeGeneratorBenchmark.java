@@ -0,0 +1,57 @@
+package game.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import game.gameplay.EllerMazeStream;
+import game.gameplay.MazeGenerator;
+import game.gameplay.MazeGrid;
+
+/**
+ * Full maze construction, from the default level size up to large custom mazes,
+ * and the per-row cost of the endless streaming generator at the same widths.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MazeGeneratorBenchmark {
+
+    @Param({"21", "101", "501", "4001"})
+    public int size;
+
+    private long seed;
+
+    private EllerMazeStream stream;
+    private long[]          row;
+
+    @Setup
+    public void setUp() {
+        stream = new EllerMazeStream(size, 42L);
+        row    = stream.newRowBuffer();
+    }
+
+    @Benchmark
+    public MazeGrid generate() {
+        return new MazeGenerator(size, size, seed++).getGrid();
+    }
+
+    @Benchmark
+    public long[] streamRow() {
+        stream.nextRow(row);
+        return row;
+    }
+}
@@ -0,0 +1,138 @@
+package game.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import game.gameplay.CorridorGraph;
+import game.gameplay.DistanceField;
+import game.gameplay.HierarchicalPathFinder;
+import game.gameplay.IncrementalDistance;
+import game.gameplay.IntPath;
+import game.gameplay.MazeGenerator;
+import game.gameplay.MazeGrid;
+import game.gameplay.PathFinder;
+
+/**
+ * Point-to-point A* (per cell, jump point, over the corridor graph and over HPA*
+ * clusters) and the shared distance field, corner to corner (the worst case),
+ * plus incremental field repair during a chase and HPA*'s per-cluster rebuild
+ * after a wall edit.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathFinderBenchmark {
+
+    @Param({"21", "101", "501"})
+    public int size;
+
+    private MazeGrid      grid;
+    private PathFinder    finder;
+    private PathFinder    corridorFinder;
+    private PathFinder    jumpFinder;
+    private DistanceField field;
+    private HierarchicalPathFinder hierarchicalFinder;
+    private HierarchicalPathFinder editedFinder;   // own grid: its walls are toggled
+    private int           editR, editC;
+    private DistanceField chaseField;
+    private int[]         chaseCells;   // player cell A, player cell B, chaser cell
+    private boolean       flip;
+    private final IntPath path  = new IntPath();
+    private final IntPath route = new IntPath();
+
+    @Setup
+    public void setUp() {
+        grid   = new MazeGenerator(size, size, 42L).getGrid();
+        finder = new PathFinder(grid);
+        field  = new DistanceField(grid);
+        corridorFinder = new PathFinder(grid, new CorridorGraph(grid));
+        jumpFinder     = new PathFinder(grid, PathFinder.Mode.JUMP_POINT);
+        hierarchicalFinder = new HierarchicalPathFinder(grid);
+        editedFinder = new HierarchicalPathFinder(new MazeGenerator(size, size, 42L).getGrid());
+        editR = (size / 2) | 1;    // between two cells of the same row, mid-maze
+        editC = (size / 2) & ~1;
+
+        // Player steps back and forth at the far corner, chaser ~10 cells behind
+        finder.findPath(size - 2, size - 2, 1, 1, path);
+        chaseCells = new int[] { path.getCell(0), path.getCell(1), path.getCell(Math.min(10, path.size() - 1)) };
+        chaseField = new DistanceField(grid);
+        chaseField.setIncremental(new IncrementalDistance(grid));
+    }
+
+    @Benchmark
+    public IntPath findPath() {
+        finder.findPath(1, 1, size - 2, size - 2, path);
+        return path;
+    }
+
+    @Benchmark
+    public IntPath findPathJumpPoint() {
+        jumpFinder.findPath(1, 1, size - 2, size - 2, path);
+        return path;
+    }
+
+    /** Graph search plus full expansion back to cells. */
+    @Benchmark
+    public IntPath findPathCorridor() {
+        corridorFinder.findPath(1, 1, size - 2, size - 2, path);
+        return path;
+    }
+
+    /** Graph search only, as used when segments are expanded lazily. */
+    @Benchmark
+    public IntPath findRouteCorridor() {
+        corridorFinder.findRoute(1, 1, size - 2, size - 2, route);
+        return route;
+    }
+
+    /** Abstract route plus the cells of its first leg only. */
+    @Benchmark
+    public IntPath findFirstSegmentHierarchical() {
+        hierarchicalFinder.findFirstSegment(1, 1, size - 2, size - 2, path);
+        return path;
+    }
+
+    @Benchmark
+    public IntPath findPathHierarchical() {
+        hierarchicalFinder.findPath(1, 1, size - 2, size - 2, path);
+        return path;
+    }
+
+    /** Opens or closes one wall mid-maze: only the touched cluster and its neighbours are rebuilt. */
+    @Benchmark
+    public IntPath setWallHierarchical() {
+        flip = !flip;
+        editedFinder.setWall(editR, editC, flip);
+        editedFinder.findFirstSegment(1, 1, size - 2, size - 2, path);
+        return path;
+    }
+
+    @Benchmark
+    public int distanceFieldRebuild() {
+        field.rebuild(size - 2, size - 2);
+        return field.distanceAt(1, 1);
+    }
+
+    /** One player step plus the chaser's lookup, repaired instead of re-flooded. */
+    @Benchmark
+    public int distanceFieldChaseRepair() {
+        flip = !flip;
+        int goal = chaseCells[flip ? 1 : 0];
+        chaseField.rebuild(goal / size, goal % size);
+        return chaseField.distanceAt(chaseCells[2] / size, chaseCells[2] % size);
+    }
+}
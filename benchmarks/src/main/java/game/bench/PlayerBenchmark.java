@@ -0,0 +1,54 @@
+package game.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import game.gameplay.MazeGenerator;
+import game.gameplay.Player;
+
+/**
+ * Player.move, which runs the wall-collision test on every step. Cost should
+ * not depend on maze size.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayerBenchmark {
+
+    @Param({"21", "501"})
+    public int size;
+
+    private Player player;
+    private int    step;
+
+    @Setup
+    public void setUp() {
+        player = new Player(new MazeGenerator(size, size, 42L).getGrid());
+    }
+
+    /** Wiggles in all four directions; a mix of free moves and blocked ones. */
+    @Benchmark
+    public float move() {
+        switch (step++ & 3) {
+            case 0:  player.move( 1,  0); break;
+            case 1:  player.move( 0, -1); break;
+            case 2:  player.move(-1,  0); break;
+            default: player.move( 0,  1); break;
+        }
+        return player.getX() + player.getY();
+    }
+}
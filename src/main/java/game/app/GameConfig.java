@@ -12,6 +12,9 @@ public final class GameConfig {
   // ── Gameplay timing ───────────────────────────────────────────── 
   public static final double MOVE_INTERVAL   = 0.10; // sec between grid steps
   public static final double SHOOT_COOLDOWN  = 0.50; // sec between player shots
+  public static final double SIM_HZ          = 120.0; // fixed simulation tick rate
+  public static final double SIM_DT          = 1.0 / SIM_HZ;
+  public static final double MAX_FRAME_TIME  = 0.25; // max sim time caught up per rendered frame
 
   // ── Levels & difficulty ───────────────────────────────────────── 
   public static final int MAX_LEVEL                 = 5;
@@ -21,6 +24,7 @@ public final class GameConfig {
   // ── Feature flags ─────────────────────────────────────────────── 
   public static final boolean ENABLE_GESTURES = true;
   public static final boolean SOUND_ON        = true;      
+  public static final boolean VSYNC           = true;      // render rate is decoupled from the sim either way
 
   // ── Theme ─────────────────────────────────────────────────────── 
   public static final float[][] BG_COLORS = {
@@ -36,8 +40,34 @@ public final class GameConfig {
   public static final String MENU_MUSIC_PATH = "audio/menu_music.wav"; 
   public static final String CLICK_SFX_PATH  = "audio/click.wav"; 
   public static final String FONT_PRIMARY    = "fonts/roboto.ttf"; 
-
-  // multipliers (1.0f = default bullet speed/size as per Bullet class)
+  public static final String MENU_MAZE_PATH  = "levels/menu.lvl";
+
+  // ── Pathfinding ───────────────────────────────────────────────── 
+  public static final int ORACLE_MAX_CELLS    = 1024;  // all-pairs distance table up to this many open cells (2 MB)
+  public static final int CORRIDOR_NODE_SHARE = 4;     // flood over a CorridorGraph when at most 1/this of open cells are junctions/dead ends
+  public static final int HPA_CLUSTER_SIZE    = 16;    // cells per side of a HierarchicalPathFinder cluster (benchmarks/tools only)
+  public static final int AI_BUDGET_US        = 1000;  // us of enemy field lookups per tick; the rest wait a tick, leftover time floods (0 = no limit)
+
+  // ── Streaming (levels loaded from big .lvl files) ───────────────
+  public static final int STREAM_MIN_CELLS      = 512 * 512; // bigger files play through a moving window of chunks
+  public static final int STREAM_WINDOW_CHUNKS  = 3;   // window is this many ChunkedMaze chunks a side
+  public static final int STREAM_RADIUS_CHUNKS  = 2;   // chunks kept loaded (or loading) around the player
+  public static final int STREAM_MAX_CHUNKS     = 64;  // resident chunk budget (~0.5 KB each)
+  public static final int STREAM_LOADER_THREADS = 1;
+
+  // ── AI level of detail (by path distance to the player) ───────── 
+  public static final int AI_LOD_MIN_ENEMIES = 32;  // fewer enemies than this: everyone updates every tick
+  public static final int LOD_NEAR_CELLS     = 24;  // up to here: every tick
+  public static final int LOD_FAR_CELLS      = 64;  // up to here: every LOD_MID_INTERVAL ticks, beyond: LOD_FAR_INTERVAL
+  public static final int LOD_MID_INTERVAL   = 4;   // ticks (30 Hz at SIM_HZ 120)
+  public static final int LOD_FAR_INTERVAL   = 24;  // ticks (5 Hz)
+
+  // ── Bullets ─────────────────────────────────────────────────────── 
+  public static final int MAX_BULLETS = 1024;   // pool capacity per level; extra shots are dropped
+
+  public static final float BULLET_BASE_SPEED_CELLS = 6f; // cells/sec at 1.0x (0.1 cell per 60 Hz frame)
+
+  // multipliers (1.0f = default bullet speed/size as per BulletSystem)
   public static final float PLAYER_BULLET_SPEED = 1.0f;
   public static final float ENEMY_BULLET_SPEED  = 0.85f;
 
@@ -76,10 +106,7 @@ public final class GameConfig {
   public static final float SNIPER_BULLET_SPEED = 4.2f;
   public static final float SNIPER_BULLET_SIZE  = 0.6f;
 
-  // Global scan state (unchanged)
-    public static float GLOBAL_SCAN_TIMER = 0f;
-    public static final float SCAN_INTERVAL = 22f;
-    public static int GLOBAL_DIRECTION_INDEX = 0;
+  public static final float SCAN_INTERVAL = 3.7f;   // sec between sniper turns (one world clock for all snipers)
 
   // ── Helpers (kept minimal; not classes) ───────────────────────── 
   public static float cellSize()            { return 2f / MAZE_ROWS; }
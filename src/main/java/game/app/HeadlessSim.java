@@ -0,0 +1,83 @@
+package game.app;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Random;
+
+import game.gameplay.GameWorld;
+import game.gameplay.LevelFile;
+import game.gameplay.enemies.AiScheduler;
+
+/**
+ * Runs levels through {@link GameWorld} with no window, GL context, webcam or audio,
+ * as fast as the CPU allows. Used for balance runs, load tests and CI benchmarks.
+ * A simple bot holds a random direction for a while and fires whenever it can;
+ * every run plays each level once, whatever happened on the previous one.
+ * Given a .lvl file, every run plays that instead, as the final level (big
+ * files stream, as in the game).
+ *
+ * Usage: HeadlessSim [runs=20] [seed=1] [maxSecondsPerLevel=180] [level.lvl]
+ */
+public final class HeadlessSim {
+    private HeadlessSim() {}
+
+    public static void main(String[] args) throws IOException {
+        int       runs       = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        long      seed       = args.length > 1 ? Long.parseLong(args[1])   : 1L;
+        int       maxSeconds = args.length > 2 ? Integer.parseInt(args[2]) : 180;
+        LevelFile file       = args.length > 3 ? LevelFile.open(Paths.get(args[3])) : null;
+        int       firstLevel = file != null ? GameConfig.MAX_LEVEL : 1;
+
+        final float dt = (float) GameConfig.SIM_DT;
+        final long maxTicks = (long) (maxSeconds * GameConfig.SIM_HZ);
+        Random rand = new Random(seed);
+
+        int[] cleared = new int[GameConfig.MAX_LEVEL + 1];
+        int[] lost    = new int[GameConfig.MAX_LEVEL + 1];
+        int[] timeout = new int[GameConfig.MAX_LEVEL + 1];
+        long totalTicks = 0;
+        long aiServed = 0, aiMaxWaitTicks = 0;
+        double aiWaitTicks = 0, aiMaxTickMicros = 0;
+        long startNs = System.nanoTime();
+
+        for (int run = 0; run < runs; run++) {
+            for (int level = firstLevel; level <= GameConfig.MAX_LEVEL; level++) {
+                GameWorld world = file != null ? new GameWorld(level, file) : new GameWorld(level, rand);
+                int dx = 0, dy = 0, holdTicks = 0;
+
+                while (world.getState() == GameState.PLAYING && world.getTickCount() < maxTicks) {
+                    if (--holdTicks <= 0) {
+                        int d = rand.nextInt(4);
+                        dx = d == 0 ? -1 : d == 1 ? 1 : 0;
+                        dy = d == 2 ? -1 : d == 3 ? 1 : 0;
+                        holdTicks = 30 + rand.nextInt(120);
+                    }
+                    world.tick(dt, dx, dy, true);
+                }
+                totalTicks += world.getTickCount();
+                world.close();
+
+                AiScheduler ai = world.getAiScheduler();
+                aiServed        += ai.getServedCount();
+                aiWaitTicks     += ai.getAverageWaitTicks() * ai.getServedCount();
+                aiMaxWaitTicks   = Math.max(aiMaxWaitTicks, ai.getMaxWaitTicks());
+                aiMaxTickMicros  = Math.max(aiMaxTickMicros, ai.getMaxTickMicros());
+
+                // Every level is played each run so all enemy types get exercised
+                if      (world.getState() == GameState.LOSE)    lost[level]++;
+                else if (world.getState() == GameState.PLAYING) timeout[level]++;
+                else                                            cleared[level]++;
+            }
+        }
+
+        double secs = (System.nanoTime() - startNs) / 1e9;
+        for (int level = firstLevel; level <= GameConfig.MAX_LEVEL; level++) {
+            System.out.printf("level %d: cleared %d, lost %d, timed out %d%n",
+                    level, cleared[level], lost[level], timeout[level]);
+        }
+        System.out.printf("AI lookups: %d, wait avg %.2f / max %d ticks, max %.0f us planning in one tick%n",
+                aiServed, aiServed == 0 ? 0 : aiWaitTicks / aiServed, aiMaxWaitTicks, aiMaxTickMicros);
+        System.out.printf("%d ticks in %.2f s (%.0f ticks/s, %.1fx real time)%n",
+                totalTicks, secs, totalTicks / secs, totalTicks / GameConfig.SIM_HZ / secs);
+    }
+}
@@ -0,0 +1,54 @@
+package game.app;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import game.gameplay.LevelFile;
+import game.gameplay.MazeGenerator;
+import game.gameplay.MazeGrid;
+import game.gameplay.Player;
+import game.gameplay.SpawnIndex;
+import game.gameplay.enemies.EnemyType;
+
+/**
+ * Pre-bakes a generated maze into a {@link LevelFile} so big levels can be
+ * opened later without generating them. Enemies get random types and are kept
+ * at least SPAWN_MARGIN_CELLS from the player start.
+ *
+ * Usage: LevelBaker out.lvl [rows=21] [cols=rows] [seed=random] [enemies=0]
+ */
+public final class LevelBaker {
+    private LevelBaker() {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: LevelBaker out.lvl [rows=21] [cols=rows] [seed=random] [enemies=0]");
+            System.exit(1);
+        }
+        Path out     = Paths.get(args[0]);
+        int  rows    = args.length > 1 ? Integer.parseInt(args[1]) : GameConfig.MAZE_ROWS;
+        int  cols    = args.length > 2 ? Integer.parseInt(args[2]) : rows;
+        long seed    = args.length > 3 ? Long.parseLong(args[3])   : new Random().nextLong();
+        int  enemies = args.length > 4 ? Integer.parseInt(args[4]) : 0;
+
+        long startNs = System.nanoTime();
+        MazeGrid grid = new MazeGenerator(rows, cols, seed).getGrid();
+
+        Random rand = new Random(seed);
+        EnemyType[] types = EnemyType.values();
+        List<LevelFile.Spawn> spawns = new ArrayList<>();
+        SpawnIndex index = new SpawnIndex(grid, Player.START_ROW, Player.START_COL);
+        for (int i = 0; i < enemies; i++) {
+            int cell = index.sample(rand, GameConfig.SPAWN_MARGIN_CELLS);
+            spawns.add(new LevelFile.Spawn(cell / cols, cell % cols, types[rand.nextInt(types.length)]));
+        }
+
+        LevelFile.write(out, grid, seed, spawns);
+        System.out.printf("%s: %dx%d, seed %d, %d enemies (%.2f s)%n",
+                out, rows, cols, seed, spawns.size(), (System.nanoTime() - startNs) / 1e9);
+    }
+}
@@ -1,12 +1,10 @@
 package game.app;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Random;
 
-import org.bytedeco.javacpp.Loader;
-import org.bytedeco.opencv.opencv_java;
 import static org.lwjgl.glfw.GLFW.GLFW_KEY_A;
 import static org.lwjgl.glfw.GLFW.GLFW_KEY_D;
 import static org.lwjgl.glfw.GLFW.GLFW_KEY_ESCAPE;
@@ -39,17 +37,15 @@ import static org.lwjgl.opengl.GL11.GL_MODELVIEW;
 import static org.lwjgl.opengl.GL11.GL_PROJECTION;
 import static org.lwjgl.opengl.GL11.glClear;
 import static org.lwjgl.opengl.GL11.glClearColor;
-import static org.lwjgl.opengl.GL11.glColor3f;
 import static org.lwjgl.opengl.GL11.glLoadIdentity;
 import static org.lwjgl.opengl.GL11.glMatrixMode;
 import static org.lwjgl.opengl.GL11.glOrtho;
 import org.lwjgl.system.MemoryUtil;
 
 import game.audio.AudioPlayer;
-import game.gameplay.Bullet;
-import game.gameplay.MazeGenerator;
-import game.gameplay.Player;
-import game.gameplay.enemies.Enemy;
+import game.gameplay.GameWorld;
+import game.gameplay.LevelFile;
+import game.gameplay.LevelPreloader;
 import game.input.GestureManager;
 import game.render.FontRenderer;
 import game.render.GameRenderer;
@@ -57,21 +53,15 @@ import game.render.LevelRenderer;
 import game.render.LoseRenderer;
 import game.render.WinRenderer;
 import game.ui.menu.PrelaunchMenu;
-import game.gameplay.enemies.EnemyType;
-import game.gameplay.enemies.EnemySpawning;
 
 
 public class TankMazeGame {
 
-    static { Loader.load(opencv_java.class); }
-
     // Window properties
     private long window;
 
     // Game components
-    private MazeGenerator generator;
-    private int[][] maze;
-    private Player player;
+    private GameWorld world;           // headless level state; this class only adds window, input & drawing
     private GameRenderer renderer;
     private FontRenderer fontRenderer;
     private WinRenderer winRenderer;
@@ -79,14 +69,12 @@ public class TankMazeGame {
     private LevelRenderer levelRenderer;
     private GameState state;
 
-    // Gameplay elements
-    private final List<Bullet> bullets = new ArrayList<>();
-    private List<Enemy> enemies;
-    private List<Bullet> enemyBullets;
     private final Random rand = new Random();
+    private final LevelPreloader preloader = new LevelPreloader();   // builds upcoming levels off the render thread
 
-    // Shooting
-    private double lastShootTime = 0.0;
+    // Custom level (null: the generated levels 1..MAX_LEVEL)
+    private final Path levelPath;
+    private LevelFile  levelFile;
 
     // Level progression
     private int currentLevel = 1;
@@ -94,13 +82,21 @@ public class TankMazeGame {
     // NEW: Multithreaded gesture system
     private GestureManager gestures;
 
-    // NEW: Movement cadence (grid step every moveInterval seconds while held)
-    private double lastMoveTime = 0.0;
+    public TankMazeGame() {
+        this(null);
+    }
+
+    /** Plays the given .lvl as the final level (won = game won, lost = retry) instead of the normal run. */
+    public TankMazeGame(Path levelPath) {
+        this.levelPath = levelPath;
+    }
 
     // ──────────────────────────────────────────────
     // Main game loop
     // ──────────────────────────────────────────────
     public void run() throws IOException {
+        if (levelPath != null) levelFile = LevelFile.open(levelPath);
+        else                   preloader.prepare(1, rand.nextLong());   // overlaps with window/webcam start-up
         initWindow();
 
         fontRenderer = new FontRenderer();
@@ -109,14 +105,16 @@ public class TankMazeGame {
         levelRenderer = new LevelRenderer(fontRenderer);
 
         state = GameState.PLAYING;
-        currentLevel = 1;
+        currentLevel = firstLevel();
         startNewGame(currentLevel);
 
         double lastTime = glfwGetTime();
+        double accumulator = 0.0;
 
         while (!glfwWindowShouldClose(window)) {
             double now = glfwGetTime();
-            float dt = (float) (now - lastTime);
+            // Clamp long stalls (window drag, breakpoint) so we never spiral trying to catch up
+            double frameTime = Math.min(now - lastTime, GameConfig.MAX_FRAME_TIME);
             lastTime = now;
 
             float[] bg = GameConfig.BG_COLORS[Math.min(currentLevel - 1, GameConfig.BG_COLORS.length - 1)];
@@ -125,67 +123,33 @@ public class TankMazeGame {
             glClear(GL_COLOR_BUFFER_BIT);
 
             if (state == GameState.PLAYING) {
+                // Fixed-rate simulation, independent of how fast we render
+                accumulator += frameTime;
+                while (accumulator >= GameConfig.SIM_DT && state == GameState.PLAYING) {
+                    tick((float) GameConfig.SIM_DT);
+                    accumulator -= GameConfig.SIM_DT;
+                }
+                // How far we are between the last two ticks, for smooth drawing
+                float alpha = (float) (accumulator / GameConfig.SIM_DT);
+
+                // A streamed level is bigger than the screen: keep the player in the middle
+                float camX = 0f, camY = 0f;
+                if (world.isStreamed()) {
+                    camX = world.getPlayer().getRenderX(alpha);
+                    camY = world.getPlayer().getRenderY(alpha);
+                }
                 glMatrixMode(GL_PROJECTION);
                 glLoadIdentity();
-                glOrtho(-1, 1, -1, 1, -1, 1);
+                glOrtho(camX - 1, camX + 1, camY - 1, camY + 1, -1, 1);
                 glMatrixMode(GL_MODELVIEW);
 
-                handleGame(); // ← includes rate-limited movement
-
-                // Update enemies
-                List<Bullet> newEnemyShots = new ArrayList<>();
-                for (Enemy e : enemies) e.update(dt, player, newEnemyShots);
-                enemyBullets.addAll(newEnemyShots);
-
-                // Enemy bullets → hit player
-                for (int i = 0; i < enemyBullets.size(); i++) {
-                    Bullet b = enemyBullets.get(i);
-                    b.update();
-
-                    if (Math.abs(b.getX() - player.getX()) < player.getSize() &&
-                        Math.abs(b.getY() - player.getY()) < player.getSize()) {
-                        state = GameState.LOSE;
-                        break;
-                    }
-
-                    if (!b.isAlive()) {
-                        enemyBullets.remove(i--);
-                    } else {
-                        glColor3f(1f, 0f, 0f);
-                        b.render();
-                    }
-                }
-
-                // Player bullets → hit enemies
-                for (int i = 0; i < bullets.size(); i++) {
-                    Bullet pb = bullets.get(i);
-                    for (int j = 0; j < enemies.size(); j++) {
-                        Enemy en = enemies.get(j);
-                        if (Math.abs(pb.getX() - en.getX()) < en.getSize() &&
-                            Math.abs(pb.getY() - en.getY()) < en.getSize()) {
-                            bullets.remove(i--);
-                            if (en.hit()) enemies.remove(j--);
-                            break;
-                        }
-                    }
-                }
-
-                // Render everything
-                renderer.render(state, enemies.isEmpty(), enemies, currentLevel);
-
-                // Player bullets rendering
-                for (int i = 0; i < bullets.size(); i++) {
-                    Bullet b = bullets.get(i);
-                    b.update();
-                    if (!b.isAlive()) {
-                        bullets.remove(i--);
-                    } else {
-                        glColor3f(1f, 1f, 1f);
-                        b.render();
-                    }
-                }
+                renderer.setView(camX, camY);
+                renderer.render(state, world.getEnemiesLeft() == 0, world.getEnemies(), currentLevel, alpha);
+                renderer.renderBullets(world.getBullets(), alpha);
 
             } else {
+                accumulator = 0.0;
+
                 // UI states
                 glMatrixMode(GL_PROJECTION);
                 glLoadIdentity();
@@ -221,6 +185,16 @@ public class TankMazeGame {
         glfwDestroyWindow(window);
         glfwTerminate();
         if (gestures != null) gestures.stop();
+        preloader.close();
+        world.close();
+    }
+
+    // ──────────────────────────────────────────────
+    // Simulation step (fixed dt)
+    // ──────────────────────────────────────────────
+    private void tick(float dt) {
+        handleGame(dt); // ← input → world.tick (movement/shots are rate-limited in sim time)
+        if (state == GameState.PLAYING) state = world.getState();
     }
 
     // ──────────────────────────────────────────────
@@ -242,12 +216,14 @@ public class TankMazeGame {
 
         if (GameConfig.SOUND_ON) new AudioPlayer(GameConfig.MUSIC_PATH).play();
 
-        glfwSwapInterval(1);
+        glfwSwapInterval(GameConfig.VSYNC ? 1 : 0);
         glfwShowWindow(window);
         glClearColor(0.12f, 0.12f, 0.15f, 1.0f);
     }
 
     private void initGestures() {
+        if (!GameConfig.ENABLE_GESTURES) return; // keeps OpenCV from loading at all
+
         gestures = new GestureManager(
             "/cascade/left.xml",
             "/cascade/right.xml",
@@ -267,63 +243,33 @@ public class TankMazeGame {
     // Game start logic
     // ──────────────────────────────────────────────
     private void startNewGame(int level) {
-    generator = new MazeGenerator(GameConfig.MAZE_ROWS, GameConfig.MAZE_ROWS);
-    maze = generator.getMaze();
-    player = new Player(maze, GameConfig.MAZE_ROWS);
-    renderer = new GameRenderer(maze, player, fontRenderer);
-
-    bullets.clear();
-    enemyBullets = new ArrayList<>();
-    lastShootTime = 0;
-    enemies = new ArrayList<>();
-
-    final int rows = GameConfig.MAZE_ROWS;
-    final float cellSize = GameConfig.cellSize();
-    final float margin = GameConfig.cellsToWorld(GameConfig.SPAWN_MARGIN_CELLS);
-
-    int levelEnemyCount = (level == GameConfig.MAX_LEVEL)
-        ? GameConfig.FINAL_LEVEL_BONUS_COUNT
-        : GameConfig.BASE_ENEMY_COUNT + level;
-
-    int normalCount = 0, miniCount = 0, sniperCount = 0, tankCount = 0;
-
-    for (int i = 0; i < levelEnemyCount; i++) {
-        int er, ec;
-        float ex, ey;
-        do {
-            er = rand.nextInt(rows - 2) + 1;
-            ec = rand.nextInt(rows - 2) + 1;
-            ex = -1 + ec * cellSize + cellSize / 2f;
-            ey =  1 - er * cellSize - cellSize / 2f;
-        } while (Math.hypot(ex - player.getX(), ey - player.getY()) < margin || maze[er][ec] == 1);
-
-        EnemyType type;
-        switch (level) {
-            case 1:  type = EnemyType.NORMAL; break;
-            case 2:  type = EnemyType.TANK;   break;
-            case 3:  type = EnemyType.MINI;   break;
-            case 4:  type = EnemyType.SNIPER; break;
-            default:
-                while (true) {
-                    int t = rand.nextInt(4);
-                    if (t == 0 && normalCount < 3) { type = EnemyType.NORMAL; normalCount++; break; }
-                    if (t == 1 && miniCount   < 3) { type = EnemyType.MINI;   miniCount++;   break; }
-                    if (t == 2 && sniperCount < 3) { type = EnemyType.SNIPER; sniperCount++; break; }
-                    if (t == 3 && tankCount   < 3) { type = EnemyType.TANK;   tankCount++;   break; }
-                }
+        if (world != null) world.close();
+        if (levelFile != null) {
+            world = new GameWorld(level, levelFile);   // big files stream, so this stays quick
+        } else {
+            world = preloader.take(level, rand.nextLong());   // normally already built in the background
         }
+        renderer = new GameRenderer(world.getGrid(), world.getPlayer(), fontRenderer);
+        renderer.setExitCell(world.getExitRow(), world.getExitCol());
+        state = GameState.PLAYING;
+        if (levelFile != null) return;
 
-        enemies.add(EnemySpawning.create(type, ex, ey, maze));
+        // Start on whichever levels can come next: the next one, or level 1 after a loss
+        // (which is also this level when the player is still on level 1)
+        if (level < GameConfig.MAX_LEVEL) preloader.prepare(level + 1, rand.nextLong());
+        preloader.prepare(1, rand.nextLong());
     }
 
-    state = GameState.PLAYING;
-}
 
+    /** Level a new game (and a retry after losing) starts on. */
+    private int firstLevel() {
+        return levelPath != null ? GameConfig.MAX_LEVEL : 1;
+    }
 
     // ────────────────────────────────────────────────
     // Input Handlers
     // ────────────────────────────────────────────────
-    private void handleGame() {
+    private void handleGame(float dt) {
         boolean left  = (glfwGetKey(window, GLFW_KEY_A) == GLFW_PRESS)
                         || (gestures != null && gestures.isLeft());
         boolean right = (glfwGetKey(window, GLFW_KEY_D) == GLFW_PRESS)
@@ -346,30 +292,14 @@ public class TankMazeGame {
         else if (up)    { dx =  0; dy =  1; }
         else if (down)  { dx =  0; dy = -1; }
 
-        double now = glfwGetTime();
-        if ((dx != 0 || dy != 0) && now - lastMoveTime >= GameConfig.MOVE_INTERVAL) {
-            player.move(dx, dy);
-            lastMoveTime = now;
-        }
+        boolean fire = (glfwGetKey(window, GLFW_KEY_F) == GLFW_PRESS)
+                       || (gestures != null && gestures.isShoot());
 
-        if (enemies.isEmpty() && player.reachedGoal()) {
-            state = (currentLevel < GameConfig.MAX_LEVEL) ? GameState.LEVEL_COMPLETE : GameState.WIN;
-        }
+        world.tick(dt, dx, dy, fire);
 
         if (glfwGetKey(window, GLFW_KEY_N) == GLFW_PRESS) {
-            state = (currentLevel < GameConfig.MAX_LEVEL) ? GameState.LEVEL_COMPLETE : GameState.WIN;
-        }
-
-        if (glfwGetKey(window, GLFW_KEY_F) == GLFW_PRESS && now - lastShootTime >= GameConfig.SHOOT_COOLDOWN) {
-            bullets.add(player.shoot());
-            lastShootTime = now;
-        }
-
-        if (gestures != null && gestures.isShoot() && now - lastShootTime >= GameConfig.SHOOT_COOLDOWN) {
-            bullets.add(player.shoot());
-            lastShootTime = now;
+            world.completeLevel();
         }
-
     }
 
 
@@ -388,7 +318,7 @@ public class TankMazeGame {
 
     private void handleLose() {
         if (glfwGetKey(window, GLFW_KEY_SPACE) == GLFW_PRESS) {
-            currentLevel = 1;
+            currentLevel = firstLevel();
             startNewGame(currentLevel);
         }
         if (glfwGetKey(window, GLFW_KEY_ESCAPE) == GLFW_PRESS)
@@ -404,9 +334,10 @@ public class TankMazeGame {
             glfwSetWindowShouldClose(window, true);
     }
 
+    /** Usage: TankMazeGame [level.lvl] (no argument: the normal five levels). */
     public static void main(String[] args) throws IOException {
         boolean start = PrelaunchMenu.showAndWait();
         if (!start) return;         // user closed menu
-        new TankMazeGame().run();   // now GLFW + webcam start
+        new TankMazeGame(args.length > 0 ? Paths.get(args[0]) : null).run();   // now GLFW + webcam start
     }
 }
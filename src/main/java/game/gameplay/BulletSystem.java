@@ -0,0 +1,116 @@
+package game.gameplay;
+
+import game.app.GameConfig;
+
+/**
+ * All live bullets of a level, stored structure-of-arrays in fixed-capacity
+ * parallel arrays. Spawning writes into the next free slot and dead bullets are
+ * swap-removed, so updating and hit-testing is a tight loop with no allocation.
+ * Bullets fly in straight cardinal lines, so each one's distance to the wall it
+ * will hit is looked up in {@link WallRays} at spawn time; the update loop never
+ * touches the maze and no speed can tunnel through a wall.
+ * Bullet indices are only stable until the next removal.
+ */
+public final class BulletSystem {
+    public static final int OWNER_PLAYER = 0;
+    public static final int OWNER_ENEMY  = 1;
+
+    private final WallRays rays;
+    private final float    baseSpeed;   // world units per second at 1.0x
+    private final float    baseSize;    // half-size of the quad at 1.0x
+
+    // ── Per-bullet state (index < count) ───────────────────────────────────
+    private final float[] x, y;
+    private final float[] prevX, prevY;  // position at the start of the current tick
+    private final float[] dx, dy;
+    private final float[] speed;
+    private final float[] size;
+    private final float[] range;       // world distance left before the wall
+    private final int[]   owner;
+    private int count = 0;
+
+    public BulletSystem(MazeGrid grid, WallRays rays, int capacity) {
+        this.rays      = rays;
+        this.baseSpeed = grid.getCellSize() * GameConfig.BULLET_BASE_SPEED_CELLS;
+        this.baseSize  = grid.getCellSize() * 0.1f;
+
+        this.x     = new float[capacity];
+        this.y     = new float[capacity];
+        this.prevX = new float[capacity];
+        this.prevY = new float[capacity];
+        this.dx    = new float[capacity];
+        this.dy    = new float[capacity];
+        this.speed = new float[capacity];
+        this.size  = new float[capacity];
+        this.range = new float[capacity];
+        this.owner = new int[capacity];
+    }
+
+    /** Fires a default-sized bullet; returns false if the pool is full and the shot was dropped. */
+    public boolean spawn(float startX, float startY, Player.Direction dir, float speedMultiplier, int ownerId) {
+        return spawn(startX, startY, dir, speedMultiplier, 1.0f, ownerId);
+    }
+
+    /** Fires a bullet with custom speed & size multipliers; returns false if the pool is full. */
+    public boolean spawn(float startX, float startY, Player.Direction dir,
+                         float speedMultiplier, float sizeMultiplier, int ownerId) {
+        if (count == x.length) return false;
+        int i = count++;
+        x[i]     = prevX[i] = startX;
+        y[i]     = prevY[i] = startY;
+        speed[i] = baseSpeed * speedMultiplier;
+        size[i]  = baseSize  * sizeMultiplier;
+        range[i] = rays.distanceToWall(startX, startY, dir);
+        owner[i] = ownerId;
+
+        switch (dir) {
+            case UP:    dx[i] =  0f; dy[i] =  1f; break;
+            case DOWN:  dx[i] =  0f; dy[i] = -1f; break;
+            case LEFT:  dx[i] = -1f; dy[i] =  0f; break;
+            case RIGHT: dx[i] =  1f; dy[i] =  0f; break;
+            default:    dx[i] =  0f; dy[i] =  0f; break;
+        }
+        return true;
+    }
+
+    /** Advances every bullet by dt seconds and drops those whose flight has reached a wall. */
+    public void update(float dt) {
+        for (int i = 0; i < count; i++) {
+            float step = speed[i] * dt;
+            prevX[i] = x[i];
+            prevY[i] = y[i];
+            x[i] += dx[i] * step;
+            y[i] += dy[i] * step;
+            range[i] -= step;
+            if (range[i] <= 0f) {
+                remove(i--);
+            }
+        }
+    }
+
+    /** Swap-removes bullet i; the last bullet takes its index. */
+    public void remove(int i) {
+        int last = --count;
+        x[i]     = x[last];
+        y[i]     = y[last];
+        prevX[i] = prevX[last];
+        prevY[i] = prevY[last];
+        dx[i]    = dx[last];
+        dy[i]    = dy[last];
+        speed[i] = speed[last];
+        size[i]  = size[last];
+        range[i] = range[last];
+        owner[i] = owner[last];
+    }
+
+    public void clear() { count = 0; }
+
+    public int   getCount()      { return count; }
+    public int   getCapacity()   { return x.length; }
+    public float getX(int i)     { return x[i]; }
+    public float getY(int i)     { return y[i]; }
+    public float getRenderX(int i, float alpha) { return prevX[i] + (x[i] - prevX[i]) * alpha; }
+    public float getRenderY(int i, float alpha) { return prevY[i] + (y[i] - prevY[i]) * alpha; }
+    public float getSize(int i)  { return size[i]; }
+    public int   getOwner(int i) { return owner[i]; }
+}
@@ -0,0 +1,228 @@
+package game.gameplay;
+
+import java.util.Arrays;
+
+/**
+ * Maze compressed to the cells where a path can actually branch. Every open cell
+ * that does not have exactly two open neighbours (junctions, dead ends) becomes a
+ * node; each run of two-neighbour cells between two nodes becomes one weighted
+ * edge, whatever turns it takes. Perfect mazes from {@link MazeGenerator} are
+ * mostly such runs, so the graph is several times smaller than the grid.
+ *
+ * Corridor cells remember which edge they lie on and how far along it, so
+ * searches can start and end anywhere. Turning a route back into cells is left to
+ * {@link #expandSegment}/{@link #firstStep}, so callers only pay for the part of a
+ * path they are about to walk. {@link DistanceField} floods over it instead of
+ * over cells. Immutable once built, so it goes stale if a wall changes.
+ */
+public final class CorridorGraph {
+    private static final int[][] DIRS = {{1,0},{-1,0},{0,1},{0,-1}};
+
+    private final MazeGrid grid;
+    private final int      cols;
+
+    // ── Nodes ──────────────────────────────────────────────────────────────
+    private final int   nodeCount;
+    private final int[] nodeOf;      // flat cell -> node id, or -1
+    private final int[] nodeCell;    // node id -> flat cell
+
+    // ── Directed edges, grouped by source node (CSR) ───────────────────────
+    private final int[] edgeStart;   // edges of node u: [edgeStart[u], edgeStart[u + 1])
+    private final int[] edgeFrom;
+    private final int[] edgeTo;
+    private final int[] edgeLen;     // steps, including the final step onto the target node
+
+    // ── Corridor cells ─────────────────────────────────────────────────────
+    private final int[] edgeOfCell;  // edge the cell lies on (-1 for nodes and walls)
+    private final int[] offsetOfCell;// steps from that edge's source node
+
+    /**
+     * Builds a graph, or returns null if more than 1/maxNodeShare of the open
+     * cells would be nodes (open rooms, pillar fields): there the graph is no
+     * smaller than the grid and only costs time.
+     */
+    public static CorridorGraph forGrid(MazeGrid grid, int maxNodeShare) {
+        long open = 0, nodes = 0;
+        for (int r = 0; r < grid.getRows(); r++)
+            for (int c = 0; c < grid.getCols(); c++) {
+                if (grid.isWall(r, c)) continue;
+                open++;
+                if (Integer.bitCount(grid.neighbourMask(r, c)) != 2) nodes++;
+            }
+        return nodes * maxNodeShare <= open ? new CorridorGraph(grid) : null;
+    }
+
+    public CorridorGraph(MazeGrid grid) {
+        this.grid = grid;
+        this.cols = grid.getCols();
+        int rows = grid.getRows();
+        int n = rows * cols;
+
+        // Junctions and dead ends become nodes
+        nodeOf = new int[n];
+        Arrays.fill(nodeOf, -1);
+        int[] cellsOfNodes = new int[n];
+        int count = 0;
+        for (int r = 0; r < rows; r++)
+            for (int c = 0; c < cols; c++)
+                if (grid.isOpen(r, c) && degree(r, c) != 2) {
+                    nodeOf[r * cols + c] = count;
+                    cellsOfNodes[count++] = r * cols + c;
+                }
+
+        // A loop of corridor cells with no junction at all still needs one node
+        boolean[] reached = new boolean[n];
+        int[] queue = new int[n];
+        for (int i = 0; i < count; i++) flood(cellsOfNodes[i], reached, queue);
+        for (int cell = 0; cell < n; cell++) {
+            if (reached[cell] || grid.isWall(cell / cols, cell % cols)) continue;
+            nodeOf[cell] = count;
+            cellsOfNodes[count++] = cell;
+            flood(cell, reached, queue);
+        }
+        this.nodeCount = count;
+        this.nodeCell  = Arrays.copyOf(cellsOfNodes, count);
+
+        // One directed edge per open direction out of each node
+        edgeStart = new int[count + 1];
+        for (int u = 0; u < count; u++) {
+            int cell = nodeCell[u];
+            edgeStart[u + 1] = edgeStart[u] + degree(cell / cols, cell % cols);
+        }
+        int edges = edgeStart[count];
+        edgeFrom = new int[edges];
+        edgeTo   = new int[edges];
+        edgeLen  = new int[edges];
+        edgeOfCell   = new int[n];
+        offsetOfCell = new int[n];
+        Arrays.fill(edgeOfCell, -1);
+
+        for (int u = 0; u < count; u++) {
+            int e = edgeStart[u];
+            int r = nodeCell[u] / cols, c = nodeCell[u] % cols;
+            for (int[] d : DIRS) {
+                if (grid.isWall(r + d[0], c + d[1])) continue;
+                int prev = nodeCell[u], cur = (r + d[0]) * cols + (c + d[1]), len = 1;
+                while (nodeOf[cur] < 0) {
+                    if (edgeOfCell[cur] < 0) {   // first walk down this corridor labels it
+                        edgeOfCell[cur]   = e;
+                        offsetOfCell[cur] = len;
+                    }
+                    int next = otherNeighbour(cur, prev);
+                    prev = cur;
+                    cur  = next;
+                    len++;
+                }
+                edgeFrom[e] = u;
+                edgeTo[e]   = nodeOf[cur];
+                edgeLen[e]  = len;
+                e++;
+            }
+        }
+    }
+
+    private int degree(int r, int c) {
+        int d = 0;
+        for (int[] dir : DIRS) if (grid.isOpen(r + dir[0], c + dir[1])) d++;
+        return d;
+    }
+
+    /** The open neighbour of a two-neighbour cell that isn't {@code from}. */
+    private int otherNeighbour(int cell, int from) {
+        int r = cell / cols, c = cell % cols;
+        for (int[] d : DIRS) {
+            int nr = r + d[0], nc = c + d[1];
+            if (grid.isWall(nr, nc)) continue;
+            int nxt = nr * cols + nc;
+            if (nxt != from) return nxt;
+        }
+        return from;
+    }
+
+    private void flood(int start, boolean[] reached, int[] queue) {
+        if (reached[start]) return;
+        int head = 0, tail = 0;
+        reached[start] = true;
+        queue[tail++] = start;
+        while (head < tail) {
+            int cur = queue[head++];
+            int r = cur / cols, c = cur % cols;
+            for (int[] d : DIRS) {
+                int nr = r + d[0], nc = c + d[1];
+                if (grid.isWall(nr, nc) || reached[nr * cols + nc]) continue;
+                reached[nr * cols + nc] = true;
+                queue[tail++] = nr * cols + nc;
+            }
+        }
+    }
+
+    // ──────────────────────────────────────────────
+    // Route expansion (on demand)
+    // ──────────────────────────────────────────────
+    /**
+     * Appends the cells after {@code fromCell} up to and including {@code toCell}
+     * to {@code out}, where the two are consecutive points of a route from
+     * {@link PathFinder#findRoute} (i.e. joined by a single corridor). If more than
+     * one corridor joins them, the shortest is used. Returns false if none does.
+     */
+    public boolean expandSegment(int fromCell, int toCell, IntPath out) {
+        int dir = bestDirection(fromCell, toCell);
+        if (dir < 0) return false;
+        int prev = fromCell;
+        int cur  = step(fromCell, dir);
+        out.add(cur / cols, cur % cols);
+        while (cur != toCell) {
+            int next = otherNeighbour(cur, prev);
+            prev = cur;
+            cur  = next;
+            out.add(cur / cols, cur % cols);
+        }
+        return true;
+    }
+
+    /** First cell to step into when walking the corridor from fromCell to toCell, or -1. */
+    public int firstStep(int fromCell, int toCell) {
+        int dir = bestDirection(fromCell, toCell);
+        return dir < 0 ? -1 : step(fromCell, dir);
+    }
+
+    /** Direction out of fromCell whose corridor reaches toCell in the fewest steps, or -1. */
+    private int bestDirection(int fromCell, int toCell) {
+        int r = fromCell / cols, c = fromCell % cols;
+        int best = -1, bestLen = Integer.MAX_VALUE;
+        for (int k = 0; k < DIRS.length; k++) {
+            if (grid.isWall(r + DIRS[k][0], c + DIRS[k][1])) continue;
+            int prev = fromCell, cur = step(fromCell, k), len = 1;
+            while (cur != toCell && nodeOf[cur] < 0) {
+                int next = otherNeighbour(cur, prev);
+                prev = cur;
+                cur  = next;
+                len++;
+            }
+            if (cur == toCell && len < bestLen) {
+                best = k;
+                bestLen = len;
+            }
+        }
+        return best;
+    }
+
+    private int step(int cell, int dir) {
+        return (cell / cols + DIRS[dir][0]) * cols + (cell % cols + DIRS[dir][1]);
+    }
+
+    // ── Graph access (for PathFinder) ──────────────────────────────────────
+    int nodeAt(int cell)        { return nodeOf[cell]; }
+    int nodeCell(int node)      { return nodeCell[node]; }
+    int firstEdge(int node)     { return edgeStart[node]; }
+    int endEdge(int node)       { return edgeStart[node + 1]; }
+    int edgeSource(int e)       { return edgeFrom[e]; }
+    int edgeTarget(int e)       { return edgeTo[e]; }
+    int edgeLength(int e)       { return edgeLen[e]; }
+    int edgeAt(int cell)        { return edgeOfCell[cell]; }
+    int offsetAt(int cell)      { return offsetOfCell[cell]; }
+
+    public MazeGrid getGrid()      { return grid; }
+    public int      getNodeCount() { return nodeCount; }
+    public int      getEdgeCount() { return edgeTo.length; }
+}
@@ -0,0 +1,406 @@
+package game.gameplay;
+
+import java.util.Arrays;
+
+/**
+ * Breadth-first distance field toward the player, shared by every enemy on a level.
+ * The field is only rebuilt when the player enters a different cell, so enemies can
+ * read their distance and next step in O(1) regardless of how many of them there are.
+ * With a {@link DistanceOracle} attached (small mazes) there is no rebuild at all:
+ * moving the goal just changes which table row is read. With an
+ * {@link IncrementalDistance} attached (large mazes) a move repairs the previous
+ * field around the change instead of re-flooding, and only as far out as
+ * enemies actually ask. If the askers are spread so wide that one move's repair
+ * would touch a large share of the maze, the repair is cut off and the field
+ * floods for a while instead, then hands the result back to the repairer.
+ *
+ * Those floods run in the background: {@link #stepFlood} carries a breadth-first
+ * search on from its saved frontier into a second buffer, a slice at a time, and
+ * queries keep being answered from the last finished field (at first, from the
+ * repairer's last distances) until it lands. A flood toward the player's newest
+ * cell only starts once the running one is done. Without an oracle or repairer
+ * every rebuild floods at once.
+ *
+ * With a {@link CorridorGraph} attached, a flood is a Dijkstra search over the
+ * graph's junctions and dead ends (a few percent of the cells in a maze) and
+ * then one pass that reads each corridor cell's distance off the two ends of
+ * its corridor, instead of a breadth-first search over every cell. Both parts
+ * are sliced the same way.
+ *
+ * {@link #getVersion} changes whenever the answers may have, so readers can
+ * tell when a distance they kept is out of date.
+ */
+public class DistanceField {
+    /** Distance reported for walls and cells with no route to the player. */
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private static final int[][] DIRS = {{1,0},{-1,0},{0,1},{0,-1}};
+
+    // A move whose repair passes 1/REPAIR_SHARE of the cells switches to flooding for FLOOD_MOVES moves
+    private static final int REPAIR_SHARE = 32;
+    private static final int FLOOD_MOVES  = 64;
+    // Cells a background flood visits between clock checks
+    private static final int FLOOD_SLICE  = 1024;
+
+    private final MazeGrid grid;
+    private final int      rows;
+    private final int      cols;
+
+    // ── Field storage (flat, index = r * cols + c) ─────────────────────────
+    private int[]       dist;         // finished field, rooted at distGoal
+    private int[]       back;         // background flood in progress, rooted at floodGoal
+    private final int[] queue;        // flood frontier, kept between steps
+    private int         head, tail;
+    private int         distGoal  = -1;   // -1: nothing finished since flooding started
+    private int         floodGoal = -1;   // -1: no flood running
+
+    // Cell the player is in (-1 until first build)
+    private int goalR = -1;
+    private int goalC = -1;
+
+    private long version;
+
+    // Optional all-pairs table; when set, replaces the BFS entirely
+    private DistanceOracle oracle;
+
+    // Optional corridor graph; when set, floods search it instead of the cells
+    private CorridorGraph graph;
+    private int[]         nodeDist;      // steps from each node to floodGoal
+    private long[]        nodeHeap;      // (steps << 32 | node), stale entries skipped on pop
+    private int           nodeHeapSize;
+    private int           fillCell;      // next cell to read off the nodes (-1: search still running)
+    private int           goalEdge;      // corridor floodGoal lies on (-1: it is a node or a wall)
+    private int           goalOffset;
+
+    // Optional incremental repair; when set (and no oracle), replaces the BFS
+    private IncrementalDistance incremental;
+    private long                repairMark;   // incremental.getExpandedTotal() at the last move
+    private boolean             flooding;     // repair parked, background floods answer instead
+    private int                 floodMoves;   // moves left before handing back to the repairer
+
+    public DistanceField(MazeGrid grid) {
+        this.grid  = grid;
+        this.rows  = grid.getRows();
+        this.cols  = grid.getCols();
+        this.dist  = new int[rows * cols];
+        this.back  = new int[rows * cols];
+        this.queue = new int[rows * cols];
+        Arrays.fill(dist, UNREACHABLE);
+    }
+
+    /** Rebuilds the field if the player has moved into a different cell since the last call. */
+    public void update(Player player) {
+        int pr = grid.worldToRow(player.getY());
+        int pc = grid.worldToCol(player.getX());
+        if (pr != goalR || pc != goalC) {
+            rebuild(pr, pc);
+        }
+    }
+
+    /** Answers all queries from the table from now on (null goes back to BFS). */
+    public void setOracle(DistanceOracle oracle) {
+        this.oracle = oracle;
+        if (oracle == null && goalR >= 0) rebuild(goalR, goalC);
+    }
+
+    /**
+     * Floods over the graph from now on instead of cell by cell (null goes back
+     * to cells). The graph must be built from this field's grid, as it is now.
+     */
+    public void setGraph(CorridorGraph graph) {
+        if (graph != null && graph.getGrid() != grid) throw new IllegalArgumentException("graph is for another grid");
+        this.graph = graph;
+        if (graph != null) {
+            nodeDist = new int[graph.getNodeCount()];
+            nodeHeap = new long[graph.getEdgeCount() + 2];   // every push but the seeds follows an edge
+        }
+        if (floodGoal >= 0) startFlood();
+    }
+
+    /** Repairs the field from now on instead of re-flooding it (null goes back to BFS). */
+    public void setIncremental(IncrementalDistance incremental) {
+        this.incremental = incremental;
+        this.flooding    = false;
+        this.floodGoal   = -1;
+        this.distGoal    = -1;
+        if (incremental != null) repairMark = incremental.getExpandedTotal();
+        if (goalR >= 0) rebuild(goalR, goalC);
+    }
+
+    /**
+     * Changes one maze cell and brings the field up to date. The oracle and the
+     * corridor graph assume static walls, so they are dropped; the incremental
+     * field repairs in place.
+     */
+    public void setWall(int r, int c, boolean wall) {
+        oracle = null;
+        graph  = null;
+        version++;
+        if (incremental != null && !flooding) {
+            incremental.setWall(r, c, wall);
+            return;
+        }
+        grid.setWall(r, c, wall);
+        if (goalR < 0) return;
+        if (flooding) startFlood();   // the running flood may already have passed the cell
+        else          flood();
+    }
+
+    /**
+     * Forgets everything after the grid's contents were replaced wholesale (a
+     * streamed window moving): drops the oracle and graph, parks any flood, and
+     * builds from scratch on the next {@link #update}.
+     */
+    public void reset() {
+        oracle    = null;
+        graph     = null;
+        flooding  = false;
+        floodGoal = -1;
+        distGoal  = -1;
+        goalR     = goalC = -1;
+        Arrays.fill(dist, UNREACHABLE);
+        version++;
+    }
+
+    /** Re-roots the field at (goalR, goalC): repaired, re-flooded or just re-pointed (oracle). */
+    public void rebuild(int goalR, int goalC) {
+        this.goalR = goalR;
+        this.goalC = goalC;
+        if (oracle != null) {
+            version++;
+            return;
+        }
+        if (incremental == null) {
+            flood();
+            return;
+        }
+        if (!flooding) {
+            if (distGoal < 0) {   // first build: flood it whole (normally off the game thread) and repair from there
+                flood();
+                incremental.load(dist, goalR, goalC);
+            } else {
+                incremental.moveGoal(goalR, goalC);
+            }
+            repairMark = incremental.getExpandedTotal();
+            version++;
+            return;
+        }
+        floodMoves--;
+        if (floodGoal < 0) startFlood();   // else it follows once the running one lands
+    }
+
+    // ──────────────────────────────────────────────
+    // Flooding
+    // ──────────────────────────────────────────────
+    /** True while a background flood is waiting for {@link #stepFlood}. */
+    public boolean isFlooding() {
+        return floodGoal >= 0;
+    }
+
+    /**
+     * Carries the background flood on until it lands or System.nanoTime() passes
+     * the deadline (checked every FLOOD_SLICE cells). A landed flood replaces the
+     * field, and the next one starts if the player has moved on meanwhile.
+     */
+    public void stepFlood(long deadlineNanos) {
+        while (floodGoal >= 0) {
+            floodCells(FLOOD_SLICE);
+            if (floodLanded()) finishFlood();
+            else if (System.nanoTime() >= deadlineNanos) return;
+        }
+    }
+
+    /** Whole flood at once, answered from straight away. */
+    private void flood() {
+        startFlood();
+        floodCells(Integer.MAX_VALUE);
+        finishFlood();
+    }
+
+    private void startFlood() {
+        floodGoal = goalR * cols + goalC;
+        if (graph != null) {
+            startGraphFlood();
+            return;
+        }
+        Arrays.fill(back, UNREACHABLE);
+        head = tail = 0;
+        if (grid.isWall(goalR, goalC)) return;
+        back[floodGoal] = 0;
+        queue[tail++] = floodGoal;
+    }
+
+    private boolean floodLanded() {
+        return graph != null ? fillCell == rows * cols : head == tail;
+    }
+
+    private void floodCells(int max) {
+        if (graph != null) {
+            graphCells(max);
+            return;
+        }
+        for (int n = 0; n < max && head < tail; n++) {
+            int cur = queue[head++];
+            int r = cur / cols, c = cur % cols;
+            int nd = back[cur] + 1;
+            for (int[] d : DIRS) {
+                int nr = r + d[0], nc = c + d[1];
+                if (grid.isWall(nr, nc)) continue;
+                int ni = nr * cols + nc;
+                if (back[ni] != UNREACHABLE) continue;
+                back[ni] = nd;
+                queue[tail++] = ni;
+            }
+        }
+    }
+
+    // ── Graph flood ────────────────────────────────────────────────────────
+    private void startGraphFlood() {
+        Arrays.fill(nodeDist, UNREACHABLE);
+        nodeHeapSize = 0;
+        fillCell     = -1;
+        goalEdge     = -1;
+        int node = graph.nodeAt(floodGoal);
+        if (node >= 0) {
+            reachNode(node, 0);
+        } else if ((goalEdge = graph.edgeAt(floodGoal)) >= 0) {   // mid-corridor: both ends are seeds
+            goalOffset = graph.offsetAt(floodGoal);
+            reachNode(graph.edgeSource(goalEdge), goalOffset);
+            reachNode(graph.edgeTarget(goalEdge), graph.edgeLength(goalEdge) - goalOffset);
+        }
+    }
+
+    /** Settles up to max nodes, then fills cells with whatever is left of max. */
+    private void graphCells(int max) {
+        int n = 0;
+        for (; n < max && nodeHeapSize > 0; n++) {
+            long top = popNode();
+            int  u   = (int) top;
+            int  du  = (int) (top >>> 32);
+            if (du > nodeDist[u]) continue;   // already settled closer
+            for (int e = graph.firstEdge(u); e < graph.endEdge(u); e++) {
+                reachNode(graph.edgeTarget(e), du + graph.edgeLength(e));
+            }
+        }
+        if (nodeHeapSize > 0) return;
+
+        if (fillCell < 0) fillCell = 0;
+        int end = fillCell + Math.min(max - n, rows * cols - fillCell);
+        for (; fillCell < end; fillCell++) back[fillCell] = graphDistance(fillCell);
+    }
+
+    private int graphDistance(int cell) {
+        int node = graph.nodeAt(cell);
+        if (node >= 0) return nodeDist[node];
+        int e = graph.edgeAt(cell);
+        if (e < 0) return UNREACHABLE;   // wall
+        int off  = graph.offsetAt(cell);
+        int best = Math.min(plus(nodeDist[graph.edgeSource(e)], off),
+                            plus(nodeDist[graph.edgeTarget(e)], graph.edgeLength(e) - off));
+        if (e == goalEdge) best = Math.min(best, Math.abs(off - goalOffset));
+        return best;
+    }
+
+    private static int plus(int d, int steps) {
+        return d == UNREACHABLE ? UNREACHABLE : d + steps;
+    }
+
+    private void reachNode(int node, int d) {
+        if (d >= nodeDist[node]) return;
+        nodeDist[node] = d;
+        long key = ((long) d << 32) | node;
+        int i = nodeHeapSize++;
+        while (i > 0 && nodeHeap[(i - 1) >> 1] > key) {
+            nodeHeap[i] = nodeHeap[(i - 1) >> 1];
+            i = (i - 1) >> 1;
+        }
+        nodeHeap[i] = key;
+    }
+
+    private long popNode() {
+        long top  = nodeHeap[0];
+        long last = nodeHeap[--nodeHeapSize];
+        int i = 0;
+        while (true) {
+            int l = 2 * i + 1;
+            if (l >= nodeHeapSize) break;
+            if (l + 1 < nodeHeapSize && nodeHeap[l + 1] < nodeHeap[l]) l++;
+            if (nodeHeap[l] >= last) break;
+            nodeHeap[i] = nodeHeap[l];
+            i = l;
+        }
+        nodeHeap[i] = last;
+        return top;
+    }
+
+    /** Swaps the landed flood in; hands it back to the repairer once the flood moves are used up. */
+    private void finishFlood() {
+        int[] t = dist;
+        dist      = back;
+        back      = t;
+        distGoal  = floodGoal;
+        floodGoal = -1;
+        version++;
+        if (!flooding) return;
+
+        if (floodMoves <= 0) {
+            incremental.load(dist, distGoal / cols, distGoal % cols);
+            incremental.moveGoal(goalR, goalC);
+            repairMark = incremental.getExpandedTotal();
+            flooding   = false;
+        } else if (distGoal != goalR * cols + goalC) {
+            startFlood();
+        }
+    }
+
+    // ──────────────────────────────────────────────
+    // Queries
+    // ──────────────────────────────────────────────
+    /** Steps from (r, c) to the player's cell, or {@link #UNREACHABLE}. */
+    public int distanceAt(int r, int c) {
+        if (r < 0 || r >= rows || c < 0 || c >= cols) return UNREACHABLE;
+        if (oracle != null) {
+            if (goalR < 0 || goalR >= rows || goalC < 0 || goalC >= cols) return UNREACHABLE;
+            return oracle.distance(r, c, goalR, goalC);
+        }
+        if (incremental != null) {
+            if (!flooding) {
+                int d = incremental.distance(r, c, repairMark + (long) rows * cols / REPAIR_SHARE);
+                if (d != IncrementalDistance.UNSETTLED) return d;
+                // Too much of the maze is changing for repair to pay off this move
+                flooding   = true;
+                floodMoves = FLOOD_MOVES;
+                distGoal   = -1;
+                startFlood();
+                version++;
+            }
+            if (distGoal < 0) return incremental.estimate(r, c);   // until the first flood lands
+        }
+        return dist[r * cols + c];
+    }
+
+    /**
+     * Follows the gradient one cell downhill from (r, c).
+     * Returns the neighbour's flat index (r * cols + c), or -1 if (r, c) is the
+     * player's cell or has no route to it.
+     */
+    public int nextStep(int r, int c) {
+        int here = distanceAt(r, c);
+        if (here == 0 || here == UNREACHABLE) return -1;
+        for (int[] d : DIRS) {
+            int nr = r + d[0], nc = c + d[1];
+            if (distanceAt(nr, nc) == here - 1) return nr * cols + nc;
+        }
+        return -1;
+    }
+
+    public DistanceOracle      getOracle()      { return oracle; }
+    public CorridorGraph       getGraph()       { return graph; }
+    public IncrementalDistance getIncremental() { return incremental; }
+
+    public int getCols()  { return cols;  }
+    public int getGoalR() { return goalR; }
+    public int getGoalC() { return goalC; }
+    /** Changes whenever distances may have (goal moved, wall changed, flood landed). */
+    public long getVersion() { return version; }
+}
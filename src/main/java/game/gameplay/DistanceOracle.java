@@ -0,0 +1,89 @@
+package game.gameplay;
+
+import java.util.Arrays;
+
+/**
+ * All-pairs shortest-path table for small mazes: one BFS from every open cell,
+ * stored as {@code short}s (~80 KB for a 21x21 level's ~200 open cells). Once
+ * built, the distance between any two cells is two index lookups and a table
+ * read, so nothing has to be searched when the player moves.
+ *
+ * Memory and build time grow with the square of the open cell count, so
+ * {@link #forGrid} only builds one up to a size limit. Immutable once built and
+ * safe to share across threads.
+ */
+public final class DistanceOracle {
+    private static final short NONE = -1;
+
+    private final int     cols;
+    private final int[]   idOf;    // flat cell index -> dense open-cell id, or -1 for walls
+    private final int     n;       // open cells
+    private final short[] table;   // table[from * n + to], NONE when unreachable
+
+    /** Builds a table, or returns null if the maze has more than maxCells open cells. */
+    public static DistanceOracle forGrid(MazeGrid grid, int maxCells) {
+        int open = 0;
+        for (int r = 0; r < grid.getRows(); r++)
+            for (int c = 0; c < grid.getCols(); c++)
+                if (grid.isOpen(r, c)) open++;
+        return open <= maxCells && open <= Short.MAX_VALUE ? new DistanceOracle(grid, open) : null;
+    }
+
+    private DistanceOracle(MazeGrid grid, int open) {
+        int rows = grid.getRows();
+        this.cols = grid.getCols();
+        this.n    = open;
+        this.idOf = new int[rows * cols];
+
+        // Dense ids and 4-neighbour lists (-1 = wall)
+        int[] cellOf = new int[n];
+        Arrays.fill(idOf, -1);
+        int next = 0;
+        for (int r = 0; r < rows; r++)
+            for (int c = 0; c < cols; c++)
+                if (grid.isOpen(r, c)) {
+                    idOf[r * cols + c] = next;
+                    cellOf[next++] = r * cols + c;
+                }
+        int[] adj = new int[n * 4];
+        for (int id = 0; id < n; id++) {
+            int r = cellOf[id] / cols, c = cellOf[id] % cols;
+            adj[id * 4]     = grid.isOpen(r - 1, c) ? idOf[cellOf[id] - cols] : -1;
+            adj[id * 4 + 1] = grid.isOpen(r + 1, c) ? idOf[cellOf[id] + cols] : -1;
+            adj[id * 4 + 2] = grid.isOpen(r, c - 1) ? idOf[cellOf[id] - 1]    : -1;
+            adj[id * 4 + 3] = grid.isOpen(r, c + 1) ? idOf[cellOf[id] + 1]    : -1;
+        }
+
+        // One BFS per source; distances are symmetric but a full row per source keeps lookups branch-free
+        this.table = new short[n * n];
+        Arrays.fill(table, NONE);
+        int[] queue = new int[n];
+        for (int src = 0; src < n; src++) {
+            int base = src * n;
+            int head = 0, tail = 0;
+            table[base + src] = 0;
+            queue[tail++] = src;
+            while (head < tail) {
+                int cur = queue[head++];
+                short nd = (short) (table[base + cur] + 1);
+                for (int k = cur * 4; k < cur * 4 + 4; k++) {
+                    int nb = adj[k];
+                    if (nb < 0 || table[base + nb] != NONE) continue;
+                    table[base + nb] = nd;
+                    queue[tail++] = nb;
+                }
+            }
+        }
+    }
+
+    /** Steps between two cells, or {@link DistanceField#UNREACHABLE} (walls, disconnected cells). */
+    public int distance(int r, int c, int toR, int toC) {
+        int from = idOf[r * cols + c], to = idOf[toR * cols + toC];
+        if (from < 0 || to < 0) return DistanceField.UNREACHABLE;
+        short d = table[from * n + to];
+        return d == NONE ? DistanceField.UNREACHABLE : d;
+    }
+
+    public int getOpenCells() { return n; }
+    public int getTableBytes() { return table.length * 2; }
+}
@@ -0,0 +1,217 @@
+package game.gameplay;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * Endless perfect-maze generator using Eller's algorithm: rows come out one at a
+ * time, top to bottom, and only O(cols) state is kept no matter how many rows
+ * have been produced. Output uses the same cell layout as {@link MazeGenerator}
+ * (nodes on odd rows/cols, walls in between, a solid border) and each row is
+ * written as MazeGrid-style wall bits, so it can be copied straight in with
+ * {@link MazeGrid#setRowBits}.
+ *
+ * Call {@link #finish()} to close the maze off: the next node row joins every
+ * remaining set, a bottom border follows, and the rows emitted so far form a
+ * single perfect maze. The same seed and width always produce the same rows.
+ */
+public final class EllerMazeStream {
+    /** Receives each row as it is generated; {@code wallBits} is reused between calls. */
+    public interface RowSink {
+        void accept(long row, long[] wallBits);
+    }
+
+    private final int    cols;
+    private final int    width;      // nodes per row
+    private final int    stride;     // longs per row
+    private final long   seed;
+    private final Random rand;
+
+    // ── Per-row state, all O(width) ───────────────────────────────────────
+    private final int[]     set;      // set id of each node in the current node row (0 = fresh)
+    private final int[]     parent;   // union-find over set ids while joining a row
+    private final boolean[] used;     // set ids taken in the current row
+    private final boolean[] down;     // node k opens into the row below
+    private final boolean[] hasDown;  // set id already has a downward passage
+    private final int[]     seen;     // per set id: members considered for the forced drop
+    private final int[]     pick;     // per set id: node chosen for the forced drop
+
+    private long    coinBits;             // 64 coin flips per nextLong()
+    private int     coinsLeft = 0;
+
+    private long    rowIndex  = 0;
+    private boolean finishing = false;
+    private boolean closed    = false;   // final node row emitted; only the border is left
+    private boolean done      = false;
+
+    public EllerMazeStream(int cols, long seed) {
+        if (cols % 2 == 0 || cols < 3) {
+            throw new IllegalArgumentException("cols must be odd and at least 3");
+        }
+        this.cols   = cols;
+        this.width  = (cols - 1) / 2;
+        this.stride = (cols + 63) >>> 6;
+        this.seed   = seed;
+        this.rand   = new Random(seed);
+
+        this.set     = new int[width];
+        this.parent  = new int[width + 1];
+        this.used    = new boolean[width + 1];
+        this.down    = new boolean[width];
+        this.hasDown = new boolean[width + 1];
+        this.seen    = new int[width + 1];
+        this.pick    = new int[width + 1];
+    }
+
+    /**
+     * Builds a finite rows x cols maze by streaming it into a grid. Mostly useful
+     * for comparing against {@link MazeGenerator}; both produce perfect mazes.
+     */
+    public static MazeGrid generate(int rows, int cols, long seed) {
+        if (rows % 2 == 0 || rows < 3) {
+            throw new IllegalArgumentException("rows must be odd and at least 3");
+        }
+        EllerMazeStream stream = new EllerMazeStream(cols, seed);
+        MazeGrid grid = new MazeGrid(rows, cols);
+        long[] row = stream.newRowBuffer();
+        for (int r = 0; r < rows; r++) {
+            if (r == rows - 2) stream.finish();
+            stream.nextRow(row);
+            grid.setRowBits(r, row);
+        }
+        return grid;
+    }
+
+    // ──────────────────────────────────────────────
+    // Streaming
+    // ──────────────────────────────────────────────
+    /** A buffer of the right size for {@link #nextRow}. */
+    public long[] newRowBuffer() {
+        return new long[stride];
+    }
+
+    public boolean hasNext() {
+        return !done;
+    }
+
+    /** Closes the maze: one more node row joins all sets, then a bottom border row. */
+    public void finish() {
+        finishing = true;
+    }
+
+    /** Writes the next row into {@code out} (1 = wall) and returns its row index. */
+    public long nextRow(long[] out) {
+        if (done) throw new NoSuchElementException();
+        long r = rowIndex++;
+        Arrays.fill(out, 0, stride, -1L);
+
+        if (r == 0) return r;                  // top border
+        if (closed) {                          // bottom border
+            done = true;
+            return r;
+        }
+        if ((r & 1) == 1) {
+            emitNodeRow(out, finishing);
+            closed = finishing;
+        } else {
+            emitConnectorRow(out);
+        }
+        return r;
+    }
+
+    /** Pushes up to {@code count} rows (fewer if the stream ends) into the sink. */
+    public void stream(long count, RowSink sink) {
+        long[] row = newRowBuffer();
+        for (long i = 0; i < count && hasNext(); i++) {
+            long r = nextRow(row);
+            sink.accept(r, row);
+        }
+    }
+
+    // ──────────────────────────────────────────────
+    // Eller's algorithm
+    // ──────────────────────────────────────────────
+    private void emitNodeRow(long[] out, boolean last) {
+        // Nodes that didn't drop in from above start in a fresh set (ids 1..width)
+        Arrays.fill(used, false);
+        for (int k = 0; k < width; k++) used[set[k]] = true;
+        int free = 1;
+        for (int k = 0; k < width; k++) {
+            if (set[k] != 0) continue;
+            while (used[free]) free++;
+            set[k] = free;
+            used[free] = true;
+        }
+        for (int k = 0; k < width; k++) parent[set[k]] = set[k];
+
+        // Randomly join neighbours in different sets (all of them on the last row)
+        for (int k = 0; k < width; k++) {
+            clearBit(out, 2 * k + 1);
+            if (k + 1 == width) break;
+            int a = find(set[k]), b = find(set[k + 1]);
+            if (a != b && (last || coinFlip())) {
+                parent[b] = a;
+                clearBit(out, 2 * k + 2);
+            }
+        }
+        for (int k = 0; k < width; k++) set[k] = find(set[k]);
+    }
+
+    private void emitConnectorRow(long[] out) {
+        for (int k = 0; k < width; k++) {
+            hasDown[set[k]] = false;
+            seen[set[k]] = 0;
+        }
+        for (int k = 0; k < width; k++) {
+            down[k] = coinFlip();
+            if (down[k]) hasDown[set[k]] = true;
+        }
+        // Every set needs at least one passage down; pick a uniform member (reservoir)
+        for (int k = 0; k < width; k++) {
+            int s = set[k];
+            if (!hasDown[s] && rand.nextInt(++seen[s]) == 0) pick[s] = k;
+        }
+        for (int k = 0; k < width; k++) {
+            int s = set[k];
+            if (!hasDown[s]) {
+                down[pick[s]] = true;
+                hasDown[s] = true;
+            }
+        }
+
+        for (int k = 0; k < width; k++) {
+            if (down[k]) clearBit(out, 2 * k + 1);
+            else         set[k] = 0;              // not carried down: fresh next row
+        }
+    }
+
+    private boolean coinFlip() {
+        if (coinsLeft == 0) {
+            coinBits  = rand.nextLong();
+            coinsLeft = 64;
+        }
+        coinsLeft--;
+        boolean heads = (coinBits & 1L) != 0;
+        coinBits >>>= 1;
+        return heads;
+    }
+
+    private int find(int s) {
+        while (parent[s] != s) {
+            parent[s] = parent[parent[s]];
+            s = parent[s];
+        }
+        return s;
+    }
+
+    private static void clearBit(long[] bits, int c) {
+        bits[c >>> 6] &= ~(1L << c);
+    }
+
+    // ── Getters ───────────────────────────────────────────────────────────
+    public int  getCols()         { return cols; }
+    public long getSeed()         { return seed; }
+    /** Number of rows emitted so far. */
+    public long getRowsEmitted()  { return rowIndex; }
+}
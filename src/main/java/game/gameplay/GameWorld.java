@@ -0,0 +1,349 @@
+package game.gameplay;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import game.app.GameConfig;
+import game.app.GameState;
+import game.gameplay.chunks.ChunkedMaze;
+import game.gameplay.enemies.AiLod;
+import game.gameplay.enemies.AiScheduler;
+import game.gameplay.enemies.Enemy;
+import game.gameplay.enemies.EnemyGrid;
+import game.gameplay.enemies.EnemySpawning;
+import game.gameplay.enemies.EnemyType;
+import game.gameplay.enemies.SniperEnemy;
+
+/**
+ * One level of the game with no window, camera or audio attached: maze, player,
+ * enemies and bullets, advanced by {@link #tick}. The windowed game feeds it
+ * keyboard/gesture input; tools and benchmarks can drive it directly from code
+ * at thousands of ticks per second.
+ *
+ * Levels loaded from a file bigger than STREAM_MIN_CELLS are streamed: the file
+ * is served through a {@link ChunkedMaze} and the grid everything else runs on
+ * is a STREAM_WINDOW_CHUNKS-chunk-square window copied out of it around the
+ * player, at the normal cell size. When the player crosses into another chunk
+ * the window moves along (once its chunks are resident), navigation is rebuilt
+ * for the new window, and enemies outside it are parked until it comes back
+ * over them.
+ */
+public class GameWorld implements AutoCloseable {
+    // Final level mixes types, at most MIX_CAP of each
+    private static final EnemyType[] MIX_TYPES = { EnemyType.NORMAL, EnemyType.MINI, EnemyType.SNIPER, EnemyType.TANK };
+    private static final int         MIX_CAP   = 3;
+
+    private final int level;
+
+    // ── Level contents ────────────────────────────────────────────────────
+    private final MazeGrid      grid;
+    private final Player        player;
+    private final DistanceField distanceField;
+    private final WallRays      rays;
+    private final BulletSystem  bullets;
+    private final List<Enemy>   enemies = new ArrayList<>();
+    private final EnemyGrid     enemyGrid;
+    private final AiScheduler   aiScheduler = new AiScheduler(GameConfig.AI_BUDGET_US);
+    private final AiLod         aiLod = new AiLod();
+    private final int           levelRows;   // whole level (bigger than grid when streamed)
+    private final int           levelCols;
+
+    // ── Streaming (null / empty unless the level is streamed) ─────────────
+    private final ChunkedMaze   chunks;
+    private final List<Enemy>   parked = new ArrayList<>();   // outside the window: not simulated
+    private boolean             windowComplete;              // every window chunk was resident when copied
+
+    // ── Timers (cooldowns and wake-ups, on the tick clock) ────────────────
+    private final TimerWheel       timers    = new TimerWheel();
+    private final TimerWheel.Timer scanTimer = new TimerWheel.Timer(this::scanSnipers);
+    private int                    scanIndex = 0;
+
+    private GameState state = GameState.PLAYING;
+
+    // ── Simulation clock & player cooldowns (seconds of sim time) ─────────
+    private double simTime       = 0.0;
+    private double lastMoveTime  = -GameConfig.MOVE_INTERVAL;   // first step is immediate
+    private double lastShootTime = -GameConfig.SHOOT_COOLDOWN;  // first shot is immediate
+    private long   tickCount     = 0;
+
+    public GameWorld(int level) {
+        this(level, new Random());
+    }
+
+    public GameWorld(int level, Random rand) {
+        // Maze seed comes from rand so a seeded world is fully reproducible
+        this(level, new MazeGenerator(GameConfig.MAZE_ROWS, GameConfig.MAZE_ROWS, rand.nextLong()).getGrid());
+        spawnEnemies(rand);
+    }
+
+    /**
+     * A pre-baked level: maze and enemy placements both come from the file.
+     * Files past STREAM_MIN_CELLS are streamed (see the class comment); the
+     * chunks around the start are loaded before this returns.
+     */
+    public GameWorld(int level, LevelFile file) {
+        this(level, file, (long) file.getRows() * file.getCols() > GameConfig.STREAM_MIN_CELLS
+                ? new ChunkedMaze(file, GameConfig.STREAM_MAX_CHUNKS, GameConfig.STREAM_LOADER_THREADS)
+                : null);
+    }
+
+    private GameWorld(int level, LevelFile file, ChunkedMaze chunks) {
+        this(level, chunks != null ? openWindow(chunks) : file.toGrid(), chunks, file.getRows(), file.getCols());
+        for (LevelFile.Spawn s : file.getSpawns()) {
+            addEnemy(EnemySpawning.create(s.getType(),
+                    grid.cellCenterX(s.getCol() - grid.getColOrigin()),
+                    grid.cellCenterY(s.getRow() - grid.getRowOrigin()), grid, distanceField));
+        }
+        if (chunks != null) sortByWindow();
+    }
+
+    private GameWorld(int level, MazeGrid grid) {
+        this(level, grid, null, grid.getRows(), grid.getCols());
+    }
+
+    private GameWorld(int level, MazeGrid grid, ChunkedMaze chunks, int levelRows, int levelCols) {
+        this.level         = level;
+        this.grid          = grid;
+        this.chunks        = chunks;
+        this.levelRows     = levelRows;
+        this.levelCols     = levelCols;
+        this.windowComplete = chunks != null && chunks.isResident(0, 0, grid.getRows(), grid.getCols());
+        this.player        = new Player(grid);
+        this.distanceField = new DistanceField(grid);
+        // Small mazes get an all-pairs table (built on the LevelPreloader thread in the game);
+        // bigger ones are repaired incrementally as the player moves, and maze-like ones
+        // flood over their corridor graph (not streamed windows: they'd need a new one per move)
+        distanceField.setOracle(DistanceOracle.forGrid(grid, GameConfig.ORACLE_MAX_CELLS));
+        if (distanceField.getOracle() == null) {
+            if (chunks == null) distanceField.setGraph(CorridorGraph.forGrid(grid, GameConfig.CORRIDOR_NODE_SHARE));
+            distanceField.setIncremental(new IncrementalDistance(grid));
+        }
+        this.rays          = new WallRays(grid);
+        this.bullets       = new BulletSystem(grid, rays, GameConfig.MAX_BULLETS);
+        this.enemyGrid     = new EnemyGrid(grid);
+        timers.schedule(scanTimer, TimerWheel.ticks(GameConfig.SCAN_INTERVAL));
+
+        distanceField.update(player);   // nav data ready before the first tick
+    }
+
+    /** Window grid over the start of a streamed level, filled from whatever has loaded. */
+    private static MazeGrid openWindow(ChunkedMaze chunks) {
+        int size = GameConfig.STREAM_WINDOW_CHUNKS * ChunkedMaze.CHUNK_SIZE;
+        MazeGrid window = new MazeGrid(size, size, GameConfig.cellSize());
+        try {
+            chunks.preload(Player.START_ROW, Player.START_COL, GameConfig.STREAM_RADIUS_CHUNKS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();   // the window is copied again once its chunks are in
+        } catch (RuntimeException e) {
+            chunks.close();
+            throw e;
+        }
+        chunks.copyRegion(window, 0, 0);
+        return window;
+    }
+
+    private void spawnEnemies(Random rand) {
+        SpawnIndex spawns = new SpawnIndex(grid, Player.START_ROW, Player.START_COL);
+
+        int levelEnemyCount = (level == GameConfig.MAX_LEVEL)
+            ? GameConfig.FINAL_LEVEL_BONUS_COUNT
+            : GameConfig.BASE_ENEMY_COUNT + level;
+
+        int[] mixUsed = new int[MIX_TYPES.length];
+
+        for (int i = 0; i < levelEnemyCount; i++) {
+            int cell = spawns.sample(rand, GameConfig.SPAWN_MARGIN_CELLS);
+            float ex = grid.cellCenterX(cell % grid.getCols());
+            float ey = grid.cellCenterY(cell / grid.getCols());
+
+            EnemyType type;
+            switch (level) {
+                case 1:  type = EnemyType.NORMAL; break;
+                case 2:  type = EnemyType.TANK;   break;
+                case 3:  type = EnemyType.MINI;   break;
+                case 4:  type = EnemyType.SNIPER; break;
+                default: type = pickMixedType(rand, mixUsed); break;
+            }
+
+            addEnemy(EnemySpawning.create(type, ex, ey, grid, distanceField));
+        }
+    }
+
+    private void addEnemy(Enemy e) {
+        e.setScheduler(aiScheduler);
+        e.setTimers(timers);
+        if (e instanceof SniperEnemy) ((SniperEnemy) e).setRays(rays);
+        enemies.add(e);
+    }
+
+    /** Sniper scan clock: one world-level step, however many snipers there are. */
+    private void scanSnipers() {
+        scanIndex++;
+        for (Enemy e : enemies) {
+            if (e instanceof SniperEnemy) ((SniperEnemy) e).scan(scanIndex);
+        }
+        timers.schedule(scanTimer, TimerWheel.ticks(GameConfig.SCAN_INTERVAL));
+    }
+
+    /** Uniform among the mixed-level types still under their cap (no cap left: any type). */
+    private static EnemyType pickMixedType(Random rand, int[] used) {
+        int allowed = 0;
+        for (int u : used) if (u < MIX_CAP) allowed++;
+        if (allowed == 0) return MIX_TYPES[rand.nextInt(MIX_TYPES.length)];
+
+        int k = rand.nextInt(allowed);
+        for (int t = 0; ; t++) {
+            if (used[t] < MIX_CAP && k-- == 0) {
+                used[t]++;
+                return MIX_TYPES[t];
+            }
+        }
+    }
+
+    // ──────────────────────────────────────────────
+    // Simulation step
+    // ──────────────────────────────────────────────
+    /**
+     * Advances the level by dt seconds. (moveX, moveY) is the held direction
+     * (-1/0/1, one axis at a time); fire requests a shot. Movement and shots are
+     * rate-limited by sim time. Does nothing once the level is won or lost.
+     * Entity timers run on the tick count, so dt is expected to be SIM_DT.
+     */
+    public void tick(float dt, int moveX, int moveY, boolean fire) {
+        if (state != GameState.PLAYING) return;
+        simTime += dt;
+        tickCount++;
+        timers.advance();   // due cooldowns and wake-ups only
+
+        player.storePrevious();
+        for (Enemy e : enemies) e.storePrevious();
+
+        // Player input (grid step every MOVE_INTERVAL while held)
+        if ((moveX != 0 || moveY != 0) && simTime - lastMoveTime >= GameConfig.MOVE_INTERVAL) {
+            player.move(moveX, moveY);
+            lastMoveTime = simTime;
+        }
+        if (fire && simTime - lastShootTime >= GameConfig.SHOOT_COOLDOWN) {
+            player.shoot(bullets);
+            lastShootTime = simTime;
+        }
+        if (chunks != null) updateWindow();
+        if (getEnemiesLeft() == 0 && player.reachedGoal(getExitRow() - grid.getRowOrigin(), getExitCol() - grid.getColOrigin())) {
+            completeLevel();
+            return;
+        }
+
+        // Update enemies (distance field only rebuilds when the player changes cell;
+        // field lookups beyond the per-tick AI budget wait for the next tick, and
+        // what the budget has left carries a background flood on;
+        // in big waves distant enemies update less often)
+        distanceField.update(player);
+        aiScheduler.beginTick();
+        aiLod.update(enemies, dt, player, bullets);
+        aiScheduler.endTick(distanceField);
+
+        // Move all bullets; wall hits are swap-removed inside the system
+        bullets.update(dt);
+
+        // Bullet hits: enemy shots → player, player shots → enemies (3x3 cell neighbourhood)
+        enemyGrid.rebuild(enemies);
+        boolean anyKilled = false;
+        for (int i = 0; i < bullets.getCount(); i++) {
+            float bx = bullets.getX(i), by = bullets.getY(i);
+            if (bullets.getOwner(i) == BulletSystem.OWNER_ENEMY) {
+                if (Math.abs(bx - player.getX()) < player.getSize() &&
+                    Math.abs(by - player.getY()) < player.getSize()) {
+                    state = GameState.LOSE;
+                    break;
+                }
+            } else {
+                int j = enemyGrid.findHit(bx, by);
+                if (j < 0) continue;
+                bullets.remove(i--);
+                if (enemies.get(j).hit()) anyKilled = true;
+            }
+        }
+        if (anyKilled) enemies.removeIf(en -> en.getHealth() == 0);
+    }
+
+    // ──────────────────────────────────────────────
+    // Streaming window
+    // ──────────────────────────────────────────────
+    /**
+     * Keeps chunks loading around the player and moves the window so the
+     * player's chunk is in its middle (clamped at the level's top-left). The
+     * window only moves once all of its new chunks are resident; until then the
+     * player just plays on in the old one.
+     */
+    private void updateWindow() {
+        int pr = grid.worldToRow(player.getY()) + grid.getRowOrigin();
+        int pc = grid.worldToCol(player.getX()) + grid.getColOrigin();
+        chunks.update(pr, pc, GameConfig.STREAM_RADIUS_CHUNKS);
+
+        int r0 = windowStart(pr, levelRows);
+        int c0 = windowStart(pc, levelCols);
+        if (windowComplete && r0 == grid.getRowOrigin() && c0 == grid.getColOrigin()) return;
+        if (!chunks.isResident(r0, c0, grid.getRows(), grid.getCols())) return;
+
+        grid.setOrigin(r0, c0);
+        chunks.copyRegion(grid, r0, c0);
+        windowComplete = true;
+        rays.rebuild();
+        distanceField.reset();   // rebuilt for the player's cell below, in this tick
+        sortByWindow();
+    }
+
+    /** First row/col of a window centred on cell's chunk, for a level {@code length} cells long. */
+    private static int windowStart(int cell, int length) {
+        int span = GameConfig.STREAM_WINDOW_CHUNKS;
+        int last = Math.max(0, ChunkedMaze.chunkOf(length - 1) - (span - 1));
+        return Math.max(0, Math.min(ChunkedMaze.chunkOf(cell) - span / 2, last)) * ChunkedMaze.CHUNK_SIZE;
+    }
+
+    /** Wakes parked enemies the window now covers and parks the ones it left behind. */
+    private void sortByWindow() {
+        enemies.addAll(parked);
+        parked.clear();
+        enemies.removeIf(e -> {
+            int r = grid.worldToRow(e.getY()), c = grid.worldToCol(e.getX());
+            if (r >= 0 && r < grid.getRows() && c >= 0 && c < grid.getCols()) {
+                e.resetPath();   // its waypoint was a cell of the old window
+                return false;
+            }
+            parked.add(e);
+            return true;
+        });
+    }
+
+    /** Stops chunk loading for a streamed level; nothing to do otherwise. */
+    @Override
+    public void close() {
+        if (chunks != null) chunks.close();
+    }
+
+    /** Ends the level as cleared (also used by the debug skip key). */
+    public void completeLevel() {
+        state = (level < GameConfig.MAX_LEVEL) ? GameState.LEVEL_COMPLETE : GameState.WIN;
+    }
+
+    // ── Getters ───────────────────────────────────────────────────────────
+    public int          getLevel()     { return level; }
+    public GameState    getState()     { return state; }
+    public MazeGrid     getGrid()      { return grid; }
+    public Player       getPlayer()    { return player; }
+    /** Enemies being simulated (in a streamed level, only those inside the window). */
+    public List<Enemy>  getEnemies()   { return enemies; }
+    /** Enemies still alive, parked ones included: the exit opens at zero. */
+    public int          getEnemiesLeft() { return enemies.size() + parked.size(); }
+    /** Exit cell in whole-level coordinates (next to the bottom-right corner). */
+    public int          getExitRow()   { return levelRows - 2; }
+    public int          getExitCol()   { return levelCols - 2; }
+    public boolean      isStreamed()   { return chunks != null; }
+    public BulletSystem getBullets()   { return bullets; }
+    public double       getSimTime()   { return simTime; }
+    public long         getTickCount() { return tickCount; }
+    public AiScheduler  getAiScheduler() { return aiScheduler; }
+    public AiLod        getAiLod()       { return aiLod; }
+    public TimerWheel   getTimers()      { return timers; }
+}
@@ -0,0 +1,390 @@
+package game.gameplay;
+
+import java.util.Arrays;
+
+import game.app.GameConfig;
+
+/**
+ * Hierarchical A* (HPA*) for large mazes. The grid is cut into square clusters;
+ * where a corridor crosses a cluster border an entrance node is placed on each
+ * side, and every cluster stores the in-cluster step distance between each pair
+ * of its entrances. A query only floods the start and goal clusters, then runs A*
+ * over entrances, so its cost depends on cluster size and route length in
+ * clusters rather than on how many cells the maze has.
+ *
+ * {@link #findRoute} returns the entrance cells along the route;
+ * {@link #refineSegment} turns one leg into cells when the caller gets there,
+ * and {@link #findFirstSegment} does both for just the first leg.
+ * After editing walls through {@link #setWall}, only the touched cluster and its
+ * four neighbours (which share its borders) are rebuilt.
+ *
+ * In perfect mazes routes are exact; with loops they can be a few steps longer
+ * than the true shortest path (the usual HPA* trade-off).
+ * Not thread-safe — use one instance per thread.
+ *
+ * Not used by the game itself: enemies read the shared {@link DistanceField},
+ * and streamed levels only navigate inside their window. This is for tools and
+ * for the point-to-point comparison in the benchmarks module.
+ */
+public class HierarchicalPathFinder {
+    private static final int[][] DIRS = {{1,0},{-1,0},{0,1},{0,-1}};
+    private static final int     NONE = -1;
+
+    private final MazeGrid grid;
+    private final int      rows, cols;
+    private final int      clusterSize;
+    private final int      clusterRows, clusterCols;
+
+    // ── Abstract graph ─────────────────────────────────────────────────────
+    private final int[]   nodeIndex;      // flat cell -> index in its cluster's node list, or NONE
+    private final int[][] clusterNodes;   // per cluster: entrance cells
+    private final int[][] clusterDist;    // per cluster: n x n in-cluster distances (NONE = no route)
+
+    // ── Query state (ids are flat cells, plus two virtual ids) ─────────────
+    private final int   startId, goalId;
+    private final int[] g, parent, seenGen, closedGen;
+    private int         generation = 0;
+    private long[]      open = new long[64];   // (f << 32 | id), lazy deletion
+    private int         openSize;
+    private int         expanded;
+
+    // Start/goal cluster floods: distance from start (to goal) for cells of that cluster
+    private final int[] startDist, goalDist, localQueue;
+    private int startCluster, goalCluster, startCell, goalCell;
+    private final IntPath route = new IntPath();
+
+    public HierarchicalPathFinder(MazeGrid grid) {
+        this(grid, GameConfig.HPA_CLUSTER_SIZE);
+    }
+
+    public HierarchicalPathFinder(MazeGrid grid, int clusterSize) {
+        this.grid        = grid;
+        this.rows        = grid.getRows();
+        this.cols        = grid.getCols();
+        this.clusterSize = clusterSize;
+        this.clusterRows = (rows + clusterSize - 1) / clusterSize;
+        this.clusterCols = (cols + clusterSize - 1) / clusterSize;
+
+        int n = rows * cols;
+        this.nodeIndex    = new int[n];
+        this.clusterNodes = new int[clusterRows * clusterCols][];
+        this.clusterDist  = new int[clusterRows * clusterCols][];
+        Arrays.fill(nodeIndex, NONE);
+
+        this.startId   = n;
+        this.goalId    = n + 1;
+        this.g         = new int[n + 2];
+        this.parent    = new int[n + 2];
+        this.seenGen   = new int[n + 2];
+        this.closedGen = new int[n + 2];
+
+        int local = clusterSize * clusterSize;
+        this.startDist  = new int[local];
+        this.goalDist   = new int[local];
+        this.localQueue = new int[local];
+
+        for (int k = 0; k < clusterNodes.length; k++) buildCluster(k);
+    }
+
+    // ──────────────────────────────────────────────
+    // Building / incremental updates
+    // ──────────────────────────────────────────────
+    /** Changes one cell and rebuilds the clusters whose entrances or distances it can affect. */
+    public void setWall(int r, int c, boolean wall) {
+        grid.setWall(r, c, wall);
+        int cy = r / clusterSize, cx = c / clusterSize;
+        buildCluster(cy * clusterCols + cx);
+        if (cy > 0)               buildCluster((cy - 1) * clusterCols + cx);
+        if (cy < clusterRows - 1) buildCluster((cy + 1) * clusterCols + cx);
+        if (cx > 0)               buildCluster(cy * clusterCols + cx - 1);
+        if (cx < clusterCols - 1) buildCluster(cy * clusterCols + cx + 1);
+    }
+
+    private void buildCluster(int k) {
+        int cy = k / clusterCols, cx = k % clusterCols;
+        int r0 = cy * clusterSize, r1 = Math.min(rows, r0 + clusterSize);
+        int c0 = cx * clusterSize, c1 = Math.min(cols, c0 + clusterSize);
+
+        if (clusterNodes[k] != null) {
+            for (int cell : clusterNodes[k]) nodeIndex[cell] = NONE;
+        }
+
+        // Entrances: the middle of every run of open cells facing an open cell across a border
+        int[] nodes = new int[4 * clusterSize];
+        int count = 0;
+        if (cy > 0)               count = borderEntrances(r0,     c0, c1, true,  -1, nodes, count);
+        if (cy < clusterRows - 1) count = borderEntrances(r1 - 1, c0, c1, true,   1, nodes, count);
+        if (cx > 0)               count = borderEntrances(c0,     r0, r1, false, -1, nodes, count);
+        if (cx < clusterCols - 1) count = borderEntrances(c1 - 1, r0, r1, false,  1, nodes, count);
+        nodes = Arrays.copyOf(nodes, count);
+        for (int i = 0; i < count; i++) nodeIndex[nodes[i]] = i;
+
+        // Pairwise in-cluster distances, one flood per entrance
+        int[] dist = new int[count * count];
+        for (int i = 0; i < count; i++) {
+            floodCluster(k, nodes[i], startDist);
+            for (int j = 0; j < count; j++) dist[i * count + j] = startDist[localIndex(k, nodes[j])];
+        }
+        clusterNodes[k] = nodes;
+        clusterDist[k]  = dist;
+    }
+
+    /**
+     * Scans one border line of a cluster (row {@code line} if horizontal, else
+     * column) between {@code from} and {@code to}, appending the middle cell of
+     * each run that is open on both sides. side = -1/+1 is where the neighbour is.
+     */
+    private int borderEntrances(int line, int from, int to, boolean horizontal, int side, int[] out, int count) {
+        int runStart = -1;
+        for (int i = from; i <= to; i++) {
+            boolean crossing = i < to && (horizontal
+                ? grid.isOpen(line, i) && grid.isOpen(line + side, i)
+                : grid.isOpen(i, line) && grid.isOpen(i, line + side));
+            if (crossing && runStart < 0) runStart = i;
+            if (!crossing && runStart >= 0) {
+                int mid  = (runStart + i - 1) >>> 1;
+                int cell = horizontal ? line * cols + mid : mid * cols + line;
+                if (!contains(out, count, cell)) out[count++] = cell;
+                runStart = -1;
+            }
+        }
+        return count;
+    }
+
+    private static boolean contains(int[] a, int n, int v) {
+        for (int i = 0; i < n; i++) if (a[i] == v) return true;
+        return false;
+    }
+
+    /** BFS from cell, staying inside cluster k; dist is indexed by {@link #localIndex}. */
+    private void floodCluster(int k, int cell, int[] dist) {
+        int cy = k / clusterCols, cx = k % clusterCols;
+        int r0 = cy * clusterSize, r1 = Math.min(rows, r0 + clusterSize);
+        int c0 = cx * clusterSize, c1 = Math.min(cols, c0 + clusterSize);
+        Arrays.fill(dist, NONE);
+
+        int head = 0, tail = 0;
+        dist[localIndex(k, cell)] = 0;
+        localQueue[tail++] = cell;
+        while (head < tail) {
+            int cur = localQueue[head++];
+            int r = cur / cols, c = cur % cols;
+            int nd = dist[localIndex(k, cur)] + 1;
+            for (int[] d : DIRS) {
+                int nr = r + d[0], nc = c + d[1];
+                if (nr < r0 || nr >= r1 || nc < c0 || nc >= c1 || grid.isWall(nr, nc)) continue;
+                int nxt = nr * cols + nc;
+                int li = localIndex(k, nxt);
+                if (dist[li] != NONE) continue;
+                dist[li] = nd;
+                localQueue[tail++] = nxt;
+            }
+        }
+    }
+
+    private int clusterOf(int cell) {
+        return (cell / cols / clusterSize) * clusterCols + (cell % cols) / clusterSize;
+    }
+
+    private int localIndex(int k, int cell) {
+        int r = cell / cols - (k / clusterCols) * clusterSize;
+        int c = cell % cols - (k % clusterCols) * clusterSize;
+        return r * clusterSize + c;
+    }
+
+    // ──────────────────────────────────────────────
+    // Queries
+    // ──────────────────────────────────────────────
+    /**
+     * Abstract route from start to goal: the start cell, each entrance passed, and
+     * the goal cell. Consecutive points are either in the same cluster or adjacent
+     * across a border; {@link #refineSegment} expands one such leg into cells.
+     */
+    public boolean findRoute(int startR, int startC, int goalR, int goalC, IntPath out) {
+        out.reset(cols);
+        expanded = 0;
+        if (grid.isWall(startR, startC) || grid.isWall(goalR, goalC)) return false;
+
+        startCell    = startR * cols + startC;
+        goalCell     = goalR  * cols + goalC;
+        startCluster = clusterOf(startCell);
+        goalCluster  = clusterOf(goalCell);
+        floodCluster(startCluster, startCell, startDist);
+        floodCluster(goalCluster,  goalCell,  goalDist);
+
+        nextGeneration();
+        openSize = 0;
+        seen(startId, 0, NONE, 0);
+
+        boolean found = false;
+        while (openSize > 0) {
+            int cur = popOpen();
+            if (closedGen[cur] == generation) continue;
+            if (cur == goalId) { found = true; break; }
+            closedGen[cur] = generation;
+            expanded++;
+
+            if (cur == startId) {
+                // Into the start cluster's entrances, or straight to the goal if it is in the same cluster
+                for (int cell : clusterNodes[startCluster]) {
+                    int d = startDist[localIndex(startCluster, cell)];
+                    if (d != NONE) relax(cell, d, cur);
+                }
+                if (startCluster == goalCluster) {
+                    int d = startDist[localIndex(startCluster, goalCell)];
+                    if (d != NONE) relax(goalId, d, cur);
+                }
+                continue;
+            }
+
+            int k = clusterOf(cur), i = nodeIndex[cur];
+            int[] nodes = clusterNodes[k], dist = clusterDist[k];
+            for (int j = 0; j < nodes.length; j++) {
+                int d = dist[i * nodes.length + j];
+                if (j != i && d != NONE) relax(nodes[j], g[cur] + d, cur);
+            }
+            // Across the border (any neighbouring entrance one step away)
+            int r = cur / cols, c = cur % cols;
+            for (int[] dir : DIRS) {
+                int nr = r + dir[0], nc = c + dir[1];
+                if (grid.isWall(nr, nc)) continue;
+                int nxt = nr * cols + nc;
+                if (nodeIndex[nxt] != NONE && clusterOf(nxt) != k) relax(nxt, g[cur] + 1, cur);
+            }
+            if (k == goalCluster) {
+                int d = goalDist[localIndex(k, cur)];
+                if (d != NONE) relax(goalId, g[cur] + d, cur);
+            }
+        }
+        if (!found) return false;
+
+        int len = 0;
+        for (int n = goalId; n != NONE; n = parent[n]) len++;
+        out.ensureCapacity(len);
+        int i = len;
+        for (int n = goalId; n != NONE; n = parent[n]) {
+            out.set(--i, n == startId ? startCell : n == goalId ? goalCell : n);
+        }
+        out.setSize(len);
+        return true;
+    }
+
+    /**
+     * Appends the cells after route point i up to and including point i + 1 to
+     * {@code out}. Only touches the one cluster the leg lies in.
+     */
+    public boolean refineSegment(IntPath route, int i, IntPath out) {
+        int from = route.getCell(i), to = route.getCell(i + 1);
+        int k = clusterOf(from);
+        if (clusterOf(to) != k) {   // border crossing: neighbouring cells
+            out.add(to / cols, to % cols);
+            return true;
+        }
+
+        // Flood back from the destination, then walk downhill from the source
+        floodCluster(k, to, goalDist);
+        if (goalDist[localIndex(k, from)] == NONE) return false;
+        int cur = from;
+        while (cur != to) {
+            int r = cur / cols, c = cur % cols, here = goalDist[localIndex(k, cur)];
+            for (int[] d : DIRS) {
+                int nr = r + d[0], nc = c + d[1];
+                if (grid.isWall(nr, nc)) continue;
+                int nxt = nr * cols + nc;
+                if (clusterOf(nxt) == k && goalDist[localIndex(k, nxt)] == here - 1) {
+                    cur = nxt;
+                    break;
+                }
+            }
+            out.add(cur / cols, cur % cols);
+        }
+        return true;
+    }
+
+    /**
+     * Cells from the start up to the first entrance on the route (or the goal if
+     * it is reached first). Enough to start moving; query again on arrival.
+     */
+    public boolean findFirstSegment(int startR, int startC, int goalR, int goalC, IntPath out) {
+        out.reset(cols);
+        if (!findRoute(startR, startC, goalR, goalC, route)) return false;
+        out.add(startR, startC);
+        if (route.size() > 1) refineSegment(route, 0, out);
+        return true;
+    }
+
+    /** Full cell path (every leg refined); for callers that want the whole thing. */
+    public boolean findPath(int startR, int startC, int goalR, int goalC, IntPath out) {
+        out.reset(cols);
+        if (!findRoute(startR, startC, goalR, goalC, route)) return false;
+        out.add(startR, startC);
+        for (int i = 0; i + 1 < route.size(); i++) refineSegment(route, i, out);
+        return true;
+    }
+
+    // ── A* helpers ─────────────────────────────────────────────────────────
+    private void relax(int id, int ng, int from) {
+        if (closedGen[id] == generation) return;
+        if (seenGen[id] == generation && ng >= g[id]) return;
+        seen(id, ng, from, id == goalId ? 0 : manhattan(id, goalCell));
+    }
+
+    private void seen(int id, int ng, int from, int h) {
+        seenGen[id] = generation;
+        g[id]       = ng;
+        parent[id]  = from;
+        pushOpen(((long) (ng + h) << 32) | id);
+    }
+
+    private int manhattan(int a, int b) {
+        return Math.abs(a / cols - b / cols) + Math.abs(a % cols - b % cols);
+    }
+
+    private void nextGeneration() {
+        if (++generation == Integer.MAX_VALUE) {
+            Arrays.fill(seenGen, 0);
+            Arrays.fill(closedGen, 0);
+            generation = 1;
+        }
+    }
+
+    private void pushOpen(long key) {
+        if (openSize == open.length) open = Arrays.copyOf(open, openSize * 2);
+        int i = openSize++;
+        while (i > 0) {
+            int p = (i - 1) >> 1;
+            if (open[p] <= key) break;
+            open[i] = open[p];
+            i = p;
+        }
+        open[i] = key;
+    }
+
+    private int popOpen() {
+        long top  = open[0];
+        long last = open[--openSize];
+        int i = 0;
+        while (true) {
+            int l = 2 * i + 1;
+            if (l >= openSize) break;
+            int m = (l + 1 < openSize && open[l + 1] < open[l]) ? l + 1 : l;
+            if (open[m] >= last) break;
+            open[i] = open[m];
+            i = m;
+        }
+        open[i] = last;
+        return (int) top;
+    }
+
+    // ── Stats ──────────────────────────────────────────────────────────────
+    /** Abstract nodes expanded by the most recent query. */
+    public int getExpandedCount() { return expanded; }
+
+    public int getEntranceCount() {
+        int n = 0;
+        for (int[] nodes : clusterNodes) n += nodes.length;
+        return n;
+    }
+
+    public int getClusterSize() { return clusterSize; }
+}
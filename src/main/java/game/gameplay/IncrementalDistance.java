@@ -0,0 +1,226 @@
+package game.gameplay;
+
+import java.util.Arrays;
+
+/**
+ * Step distances to a moving goal, kept up to date with LPA* (the repair loop
+ * D* Lite is built on) instead of re-flooding the maze. Moving the goal or
+ * changing a wall only marks the few cells around the change as inconsistent;
+ * the repair then runs lazily, in distance order, and stops as soon as the cell
+ * being asked about is settled. In a chase, where enemies sit a short way behind
+ * the player, each player step touches only the cells between the player and
+ * the farthest enemy that asks, not the whole maze.
+ *
+ * g is the settled distance, rhs the one-step lookahead (0 at the goal, else
+ * 1 + the best open neighbour's g); a cell is queued while they differ.
+ * Not thread-safe.
+ */
+public class IncrementalDistance {
+    /** Returned by the limited {@link #distance(int, int, long)} when it ran out of work. */
+    public static final int UNSETTLED = -1;
+
+    private static final int   INF  = DistanceField.UNREACHABLE;
+    private static final int[][] DIRS = {{1,0},{-1,0},{0,1},{0,-1}};
+
+    private final MazeGrid grid;
+    private final int      rows;
+    private final int      cols;
+
+    // ── Per-cell state (index = r * cols + c) ──────────────────────────────
+    private final int[] g;
+    private final int[] rhs;
+    private int goal = -1;
+
+    // ── Indexed binary min-heap on min(g, rhs) ─────────────────────────────
+    private final int[] heap;
+    private final int[] heapKey;
+    private final int[] heapPos;    // position in heap, or -1 if not queued
+    private int heapSize;
+
+    // Cells popped since construction (for profiling/benchmarks)
+    private long expanded;
+
+    public IncrementalDistance(MazeGrid grid) {
+        this.grid    = grid;
+        this.rows    = grid.getRows();
+        this.cols    = grid.getCols();
+        int n = rows * cols;
+        this.g       = new int[n];
+        this.rhs     = new int[n];
+        this.heap    = new int[n];
+        this.heapKey = new int[n];
+        this.heapPos = new int[n];
+        Arrays.fill(g, INF);
+        Arrays.fill(rhs, INF);
+        Arrays.fill(heapPos, -1);
+    }
+
+    /** Re-roots the distances at (r, c). Cheap: the repair happens on later queries. */
+    public void moveGoal(int r, int c) {
+        int cell = grid.isWall(r, c) ? -1 : r * cols + c;
+        if (cell == goal) return;
+        int old = goal;
+        goal = cell;
+        if (old  >= 0) updateCell(old);
+        if (cell >= 0) updateCell(cell);
+    }
+
+    /** Changes one cell of the maze and marks it and its neighbours for repair. */
+    public void setWall(int r, int c, boolean wall) {
+        grid.setWall(r, c, wall);
+        if (r < 0 || r >= rows || c < 0 || c >= cols) return;
+        if (r * cols + c == goal && wall) goal = -1;
+        updateCell(r * cols + c);
+        for (int[] d : DIRS) {
+            int nr = r + d[0], nc = c + d[1];
+            if (nr >= 0 && nr < rows && nc >= 0 && nc < cols) updateCell(nr * cols + nc);
+        }
+    }
+
+    /**
+     * Starts over from a complete field (e.g. a fresh BFS) rooted at (goalR, goalC):
+     * everything becomes consistent and nothing is queued.
+     */
+    public void load(int[] dist, int goalR, int goalC) {
+        for (int i = 0; i < heapSize; i++) heapPos[heap[i]] = -1;
+        heapSize = 0;
+        System.arraycopy(dist, 0, g,   0, g.length);
+        System.arraycopy(dist, 0, rhs, 0, rhs.length);
+        goal = grid.isWall(goalR, goalC) ? -1 : goalR * cols + goalC;
+    }
+
+    /** Steps from (r, c) to the goal, or {@link DistanceField#UNREACHABLE}. */
+    public int distance(int r, int c) {
+        return distance(r, c, Long.MAX_VALUE);
+    }
+
+    /**
+     * As {@link #distance(int, int)}, but gives up (returning {@link #UNSETTLED})
+     * once {@link #getExpandedTotal} would pass maxExpandedTotal. The repair
+     * state stays valid, so a later call simply carries on.
+     */
+    public int distance(int r, int c, long maxExpandedTotal) {
+        if (grid.isWall(r, c)) return INF;
+        int cell = r * cols + c;
+        return settle(cell, maxExpandedTotal) ? g[cell] : UNSETTLED;
+    }
+
+    /** Last settled distance of (r, c), without repairing anything: may be out of date. */
+    public int estimate(int r, int c) {
+        return grid.isWall(r, c) ? INF : g[r * cols + c];
+    }
+
+    /** Total cells processed by repairs so far. */
+    public long getExpandedTotal() { return expanded; }
+
+    // ──────────────────────────────────────────────
+    // LPA*
+    // ──────────────────────────────────────────────
+    /** Repairs in distance order until cell's distance is final (true) or the work cap is hit. */
+    private boolean settle(int cell, long maxExpandedTotal) {
+        while (heapSize > 0 && (heapKey[heap[0]] < key(cell) || g[cell] != rhs[cell])) {
+            if (expanded >= maxExpandedTotal) return false;
+            int u = pop();
+            expanded++;
+            if (g[u] > rhs[u]) {
+                g[u] = rhs[u];               // over-consistent: distance went down (or is new)
+            } else {
+                g[u] = INF;                  // under-consistent: distance went up, redo from scratch
+                updateCell(u);
+            }
+            int r = u / cols, c = u % cols;
+            for (int[] d : DIRS) {
+                int nr = r + d[0], nc = c + d[1];
+                if (nr >= 0 && nr < rows && nc >= 0 && nc < cols) updateCell(nr * cols + nc);
+            }
+        }
+        return true;
+    }
+
+    private void updateCell(int cell) {
+        int r = cell / cols, c = cell % cols;
+        if (cell == goal) {
+            rhs[cell] = 0;
+        } else if (grid.isWall(r, c)) {
+            rhs[cell] = INF;
+        } else {
+            int best = INF;
+            for (int[] d : DIRS) {
+                int nr = r + d[0], nc = c + d[1];
+                if (grid.isWall(nr, nc)) continue;
+                int ng = g[nr * cols + nc];
+                if (ng < best) best = ng;
+            }
+            rhs[cell] = best == INF ? INF : best + 1;
+        }
+
+        if (g[cell] != rhs[cell]) {
+            if (heapPos[cell] < 0) push(cell, key(cell));
+            else                   rekey(cell, key(cell));
+        } else if (heapPos[cell] >= 0) {
+            remove(cell);
+        }
+    }
+
+    private int key(int cell) {
+        return Math.min(g[cell], rhs[cell]);
+    }
+
+    // ── Heap operations ────────────────────────────────────────────────────
+    private void push(int cell, int key) {
+        heapKey[cell] = key;
+        heap[heapSize] = cell;
+        heapPos[cell] = heapSize;
+        siftUp(heapSize++);
+    }
+
+    private void rekey(int cell, int key) {
+        int old = heapKey[cell];
+        heapKey[cell] = key;
+        if (key < old) siftUp(heapPos[cell]);
+        else           siftDown(heapPos[cell]);
+    }
+
+    private int pop() {
+        int top = heap[0];
+        remove(top);
+        return top;
+    }
+
+    private void remove(int cell) {
+        int i = heapPos[cell];
+        heapPos[cell] = -1;
+        if (--heapSize == i) return;
+        int last = heap[heapSize];
+        heap[i] = last;
+        heapPos[last] = i;
+        siftUp(i);
+        siftDown(heapPos[last]);
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int p = (i - 1) >> 1;
+            if (heapKey[heap[i]] >= heapKey[heap[p]]) break;
+            swap(i, p);
+            i = p;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int l = 2 * i + 1, r = l + 1, m = i;
+            if (l < heapSize && heapKey[heap[l]] < heapKey[heap[m]]) m = l;
+            if (r < heapSize && heapKey[heap[r]] < heapKey[heap[m]]) m = r;
+            if (m == i) return;
+            swap(i, m);
+            i = m;
+        }
+    }
+
+    private void swap(int a, int b) {
+        int ca = heap[a], cb = heap[b];
+        heap[a] = cb; heapPos[cb] = a;
+        heap[b] = ca; heapPos[ca] = b;
+    }
+}
@@ -0,0 +1,52 @@
+package game.gameplay;
+
+import java.util.Arrays;
+
+/**
+ * Reusable, caller-owned path buffer of grid cells stored as flat indices
+ * (r * cols + c). Grows only when a longer path than ever before is written,
+ * so repeated queries into the same buffer create no garbage.
+ */
+public final class IntPath {
+    private int[] cells;
+    private int   size;
+    private int   cols = 1;
+
+    public IntPath() {
+        this(64);
+    }
+
+    public IntPath(int initialCapacity) {
+        this.cells = new int[Math.max(1, initialCapacity)];
+    }
+
+    /** Empties the path and sets the row stride used to decode cells. */
+    void reset(int cols) {
+        this.cols = cols;
+        this.size = 0;
+    }
+
+    /** Reserves room for n cells, discarding the current contents. */
+    void ensureCapacity(int n) {
+        if (cells.length < n) {
+            cells = new int[Math.max(n, cells.length * 2)];
+        }
+    }
+
+    /** Writes a cell at position i; used to fill the path back to front. */
+    void set(int i, int cell) { cells[i] = cell; }
+
+    void setSize(int n) { size = n; }
+
+    public void add(int r, int c) {
+        if (size == cells.length) cells = Arrays.copyOf(cells, size * 2);
+        cells[size++] = r * cols + c;
+    }
+
+    public void clear()         { size = 0; }
+    public int  size()          { return size; }
+    public boolean isEmpty()    { return size == 0; }
+    public int  getCell(int i)  { return cells[i]; }
+    public int  getRow(int i)   { return cells[i] / cols; }
+    public int  getCol(int i)   { return cells[i] % cols; }
+}
@@ -0,0 +1,216 @@
+package game.gameplay;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import game.gameplay.chunks.ChunkSource;
+import game.gameplay.chunks.ChunkedMaze;
+import game.gameplay.enemies.EnemyType;
+
+/**
+ * Versioned binary level: bit-packed walls, an enemy spawn table and the seed the
+ * maze came from. {@link #open} memory-maps the file, so opening is O(1) whatever
+ * the size and wall tests read the mapping directly; nothing is parsed or copied
+ * onto the heap until a caller asks for a {@link MazeGrid} ({@link #toGrid} for a
+ * normal level, {@link #copyRegion} or the {@link ChunkSource} view for huge ones).
+ *
+ * Layout (little-endian):
+ * <pre>
+ *   0  int   magic "VALV"
+ *   4  short version (1)
+ *   6  short flags (reserved, 0)
+ *   8  int   rows
+ *  12  int   cols
+ *  16  long  seed (0 for hand-made levels)
+ *  24  int   spawn count
+ *  28  int   reserved (0)
+ *  32  long[rows * ceil(cols / 64)] walls, one row after another; bit (c % 64)
+ *      of word (c / 64) is cell c (1 = wall), same as MazeGrid
+ *  ..  spawns: int row, int col, int type (EnemyType ordinal) each
+ * </pre>
+ * Mapping is limited to 2 GB per file (~17 gigacells).
+ */
+public final class LevelFile implements ChunkSource {
+    public static final int   MAGIC        = 0x56414C56;   // "VALV"
+    public static final short VERSION      = 1;
+    public static final int   HEADER_BYTES = 32;
+    private static final int  SPAWN_BYTES  = 12;
+
+    /** One enemy placement; always an open cell inside the level. */
+    public static final class Spawn {
+        private final int       row;
+        private final int       col;
+        private final EnemyType type;
+
+        public Spawn(int row, int col, EnemyType type) {
+            this.row  = row;
+            this.col  = col;
+            this.type = type;
+        }
+
+        public int       getRow()  { return row; }
+        public int       getCol()  { return col; }
+        public EnemyType getType() { return type; }
+    }
+
+    private final int         rows;
+    private final int         cols;
+    private final int         stride;   // longs per row
+    private final long        seed;
+    private final LongBuffer  walls;    // view onto the mapping (or buffer), never copied
+    private final List<Spawn> spawns;
+
+    private LevelFile(ByteBuffer buf) throws IOException {
+        buf = buf.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        if (buf.capacity() < HEADER_BYTES || buf.getInt(0) != MAGIC) {
+            throw new IOException("not a level file");
+        }
+        short version = buf.getShort(4);
+        if (version != VERSION) {
+            throw new IOException("unsupported level version " + version);
+        }
+        this.rows   = buf.getInt(8);
+        this.cols   = buf.getInt(12);
+        this.seed   = buf.getLong(16);
+        this.stride = (cols + 63) >>> 6;
+        int spawnCount = buf.getInt(24);
+
+        long wallBytes  = (long) rows * stride * 8;
+        long spawnStart = HEADER_BYTES + wallBytes;
+        if (rows <= 0 || cols <= 0 || spawnCount < 0 ||
+            spawnStart + (long) spawnCount * SPAWN_BYTES > buf.capacity()) {
+            throw new IOException("truncated or corrupt level file");
+        }
+
+        ByteBuffer wallBuf = buf.duplicate();
+        wallBuf.position(HEADER_BYTES).limit((int) spawnStart);
+        this.walls = wallBuf.slice().order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+
+        EnemyType[] types = EnemyType.values();
+        List<Spawn> list = new ArrayList<>(spawnCount);
+        for (int i = 0; i < spawnCount; i++) {
+            int at   = (int) spawnStart + i * SPAWN_BYTES;
+            int type = buf.getInt(at + 8);
+            if (type < 0 || type >= types.length) throw new IOException("bad enemy type " + type);
+            int row = buf.getInt(at), col = buf.getInt(at + 4);
+            // isWall is also true off the grid, so this rejects both
+            if (isWall(row, col)) throw new IOException("bad spawn " + row + "," + col + " (outside the level or on a wall)");
+            list.add(new Spawn(row, col, types[type]));
+        }
+        this.spawns = Collections.unmodifiableList(list);
+    }
+
+    // ──────────────────────────────────────────────
+    // Loading
+    // ──────────────────────────────────────────────
+    /** Memory-maps a level file read-only. The mapping stays valid after the channel closes. */
+    public static LevelFile open(Path path) throws IOException {
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new LevelFile(ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size()));
+        }
+    }
+
+    /** Reads a level already in memory. */
+    public static LevelFile wrap(ByteBuffer bytes) throws IOException {
+        return new LevelFile(bytes);
+    }
+
+    /** Reads a (small) level from the classpath; resources inside a jar can't be mapped. */
+    public static LevelFile fromResource(String resourcePath) throws IOException {
+        try (InputStream in = LevelFile.class.getClassLoader().getResourceAsStream(resourcePath)) {
+            if (in == null) throw new IOException("Missing " + resourcePath);
+            return wrap(ByteBuffer.wrap(in.readAllBytes()));
+        }
+    }
+
+    // ──────────────────────────────────────────────
+    // Saving
+    // ──────────────────────────────────────────────
+    public static void write(Path path, MazeGrid grid, long seed, List<Spawn> spawns) throws IOException {
+        int rows = grid.getRows(), cols = grid.getCols();
+        int stride = (cols + 63) >>> 6;
+
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buf = ByteBuffer.allocate(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+            buf.putInt(MAGIC).putShort(VERSION).putShort((short) 0)
+               .putInt(rows).putInt(cols).putLong(seed)
+               .putInt(spawns.size()).putInt(0);
+
+            long[] row = new long[stride];
+            for (int r = 0; r < rows; r++) {
+                grid.getRowBits(r, row);
+                for (long word : row) {
+                    if (buf.remaining() < 8) drain(ch, buf);
+                    buf.putLong(word);
+                }
+            }
+            for (Spawn s : spawns) {
+                if (buf.remaining() < SPAWN_BYTES) drain(ch, buf);
+                buf.putInt(s.getRow()).putInt(s.getCol()).putInt(s.getType().ordinal());
+            }
+            drain(ch, buf);
+        }
+    }
+
+    private static void drain(FileChannel ch, ByteBuffer buf) throws IOException {
+        buf.flip();
+        while (buf.hasRemaining()) ch.write(buf);
+        buf.clear();
+    }
+
+    // ──────────────────────────────────────────────
+    // Cells
+    // ──────────────────────────────────────────────
+    /** True for walls and for anything outside the level; reads the mapping directly. */
+    public boolean isWall(int r, int c) {
+        if (r < 0 || c < 0 || r >= rows || c >= cols) return true;
+        return ((walls.get(r * stride + (c >>> 6)) >>> c) & 1L) != 0;
+    }
+
+    /** Copies the whole level onto the heap as a grid (for normal-sized levels). */
+    public MazeGrid toGrid() {
+        MazeGrid grid = new MazeGrid(rows, cols);
+        long[] row = new long[stride];
+        LongBuffer src = walls.duplicate();
+        for (int r = 0; r < rows; r++) {
+            src.position(r * stride);
+            src.get(row);
+            grid.setRowBits(r, row);
+        }
+        return grid;
+    }
+
+    /** Copies the window whose top-left cell is (r0, c0) into dst; outside cells are walls. */
+    public void copyRegion(MazeGrid dst, int r0, int c0) {
+        for (int r = 0; r < dst.getRows(); r++)
+            for (int c = 0; c < dst.getCols(); c++)
+                dst.setWall(r, c, isWall(r0 + r, c0 + c));
+    }
+
+    /** Serves the level in chunks to a {@link ChunkedMaze}; chunk (0, 0) starts at cell (0, 0). */
+    @Override
+    public MazeGrid loadChunk(int cx, int cy) {
+        int size = ChunkedMaze.CHUNK_SIZE;
+        int r0 = cy * size, c0 = cx * size;
+        if (r0 >= rows || c0 >= cols || r0 + size <= 0 || c0 + size <= 0) return null;
+        MazeGrid chunk = new MazeGrid(size, size);
+        copyRegion(chunk, r0, c0);
+        return chunk;
+    }
+
+    // ── Getters ───────────────────────────────────────────────────────────
+    public int         getRows()   { return rows; }
+    public int         getCols()   { return cols; }
+    public long        getSeed()   { return seed; }
+    public List<Spawn> getSpawns() { return spawns; }
+}
@@ -0,0 +1,57 @@
+package game.gameplay;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Builds {@link GameWorld}s on a background thread ahead of time, so a level
+ * transition only has to swap in a world that is already generated, populated
+ * and has its navigation data built. A GameWorld touches no shared state while
+ * it is being constructed, and {@link Future#get} publishes it safely to the
+ * caller's thread.
+ *
+ * Call from one thread (the game loop).
+ */
+public final class LevelPreloader implements AutoCloseable {
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "level-preloader");
+        t.setDaemon(true);
+        return t;
+    });
+    private final Map<Integer, Future<GameWorld>> ready = new HashMap<>();
+
+    /** Starts building a level unless one is already queued or done. */
+    public void prepare(int level, long seed) {
+        ready.computeIfAbsent(level, l ->
+            worker.submit(() -> new GameWorld(l, new Random(seed))));
+    }
+
+    /**
+     * Returns the prepared world for this level, waiting for it if it is still
+     * being built, or builds one from {@code seed} on the calling thread if none
+     * was requested. Each prepared world is handed out once.
+     */
+    public GameWorld take(int level, long seed) {
+        Future<GameWorld> f = ready.remove(level);
+        if (f != null) {
+            try {
+                return f.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                System.err.println("Level " + level + " failed to preload: " + e.getCause());
+            }
+        }
+        return new GameWorld(level, new Random(seed));
+    }
+
+    @Override
+    public void close() {
+        worker.shutdownNow();
+    }
+}
@@ -1,65 +1,82 @@
 package game.gameplay;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
 import java.util.Random;
 
+/**
+ * Perfect-maze generator (randomised depth-first backtracker). Nodes are the
+ * odd (r, c) cells; carving runs on an explicit stack so stack depth never
+ * depends on maze size, and the result is written straight into a bit-packed
+ * {@link MazeGrid}. The same seed and size always produce the same maze.
+ */
 public class MazeGenerator {
     private final int rows;
     private final int cols;
-    private final int[][] maze;
-    private final Random rand = new Random();
+    private final long seed;
+    private final MazeGrid grid;
 
     public MazeGenerator(int rows, int cols) {
+        this(rows, cols, new Random().nextLong());
+    }
+
+    public MazeGenerator(int rows, int cols, long seed) {
         if (rows % 2 == 0 || cols % 2 == 0) {
             throw new IllegalArgumentException("rows and cols must be odd");
         }
         this.rows = rows;
         this.cols = cols;
-        this.maze = new int[rows][cols];
-
-        // fill with walls
-        for (int r = 0; r < rows; r++) {
-            for (int c = 0; c < cols; c++) {
-                maze[r][c] = 1;
-            }
-        }
+        this.seed = seed;
+        this.grid = MazeGrid.filled(rows, cols);
 
         // carve starting at (1,1)
-        generateMaze(1, 1);
+        generateMaze(new Random(seed));
     }
 
-    private void generateMaze(int r, int c) {
-        maze[r][c] = 0;
-        List<int[]> dirs = new ArrayList<>();
-        dirs.add(new int[]{0, -2});
-        dirs.add(new int[]{0,  2});
-        dirs.add(new int[]{-2, 0});
-        dirs.add(new int[]{ 2, 0});
-        Collections.shuffle(dirs, rand);
-
-        for (int[] d : dirs) {
-            int nr = r + d[0], nc = c + d[1];
-            if (nr > 0 && nr < rows - 1 &&
-                nc > 0 && nc < cols - 1 &&
-                maze[nr][nc] == 1)
-            {
-                // knock down the wall between
-                maze[r + d[0]/2][c + d[1]/2] = 0;
-                generateMaze(nr, nc);
-            }
-        }
-    }
-
-    public int[][] getMaze() {
-        return maze;
-    }
-}
+    private void generateMaze(Random rand) {
+        // Flat cell indices (r * cols + c); every node is pushed at most once,
+        // so this bounds the stack (~4 bytes per node, 16 MB for 4001x4001)
+        int[] stack = new int[Math.max(1, ((rows - 1) / 2) * ((cols - 1) / 2))];
+        int[] dirs  = new int[4];
+        int top = 0;
 
+        grid.setWall(1, 1, false);
+        stack[top++] = cols + 1;
 
+        while (top > 0) {
+            int cell = stack[top - 1];
+            int r = cell / cols, c = cell - r * cols;
 
+            // Uncarved nodes two steps away (an open node has been visited)
+            int n = 0;
+            if (r > 2            && grid.isWall(r - 2, c)) dirs[n++] = 0;
+            if (r + 2 < rows - 1 && grid.isWall(r + 2, c)) dirs[n++] = 1;
+            if (c > 2            && grid.isWall(r, c - 2)) dirs[n++] = 2;
+            if (c + 2 < cols - 1 && grid.isWall(r, c + 2)) dirs[n++] = 3;
 
+            if (n == 0) {
+                top--;   // dead end: backtrack
+                continue;
+            }
 
+            int dr = 0, dc = 0;
+            switch (dirs[n == 1 ? 0 : rand.nextInt(n)]) {
+                case 0:  dr = -1; break;
+                case 1:  dr =  1; break;
+                case 2:  dc = -1; break;
+                default: dc =  1; break;
+            }
+            // knock down the wall between, then continue from the new node
+            grid.setWall(r + dr, c + dc, false);
+            grid.setWall(r + 2 * dr, c + 2 * dc, false);
+            stack[top++] = (r + 2 * dr) * cols + (c + 2 * dc);
+        }
+    }
 
+    public MazeGrid getGrid() {
+        return grid;
+    }
 
+    /** Seed this maze was generated from; pass it back in to rebuild the same maze. */
+    public long getSeed() {
+        return seed;
+    }
+}
@@ -0,0 +1,127 @@
+package game.gameplay;
+
+import java.util.Arrays;
+
+/**
+ * Bit-packed maze shared by all gameplay code. One bit per cell (1 = wall) in a
+ * {@code long[]} with a fixed row stride, so a wall test is a single shift-and-mask
+ * and even very large mazes stay cache-resident. Also owns the world↔cell mapping:
+ * by default the maze spans [-1, 1] on both axes with row 0 at the top. A grid
+ * with its own cell size, or a window onto a bigger maze (see {@link #setOrigin}),
+ * maps the same way from the bigger maze's top-left corner.
+ */
+public final class MazeGrid {
+    // ── Neighbour mask bits (set when that neighbour is open) ──────────────
+    public static final int OPEN_UP    = 1;
+    public static final int OPEN_DOWN  = 2;
+    public static final int OPEN_LEFT  = 4;
+    public static final int OPEN_RIGHT = 8;
+
+    private final int    rows;
+    private final int    cols;
+    private final int    stride;     // longs per row
+    private final long[] bits;
+    private final float  cellSize;
+    private int          rowOrigin;  // cell (0, 0) is (rowOrigin, colOrigin) of the whole maze
+    private int          colOrigin;
+
+    /** Creates a grid with every cell open, scaled to span [-1, 1]. */
+    public MazeGrid(int rows, int cols) {
+        this(rows, cols, 2f / rows);
+    }
+
+    /** Creates a grid with every cell open and the given cell size in world units. */
+    public MazeGrid(int rows, int cols, float cellSize) {
+        this.rows     = rows;
+        this.cols     = cols;
+        this.stride   = (cols + 63) >>> 6;
+        this.bits     = new long[rows * stride];
+        this.cellSize = cellSize;
+    }
+
+    /** Creates a grid with every cell a wall (the starting point for carving). */
+    public static MazeGrid filled(int rows, int cols) {
+        MazeGrid g = new MazeGrid(rows, cols);
+        Arrays.fill(g.bits, -1L);   // padding bits past the last column are never read
+        return g;
+    }
+
+    /** Packs a 0/1 array (1 = wall) such as a hand-written level. */
+    public static MazeGrid fromArray(int[][] maze) {
+        MazeGrid g = new MazeGrid(maze.length, maze[0].length);
+        for (int r = 0; r < g.rows; r++)
+            for (int c = 0; c < g.cols; c++)
+                if (maze[r][c] == 1) g.setWall(r, c, true);
+        return g;
+    }
+
+    // ── Cell queries ───────────────────────────────────────────────────────
+    /** True for walls and for anything outside the grid. */
+    public boolean isWall(int r, int c) {
+        if (r < 0 || c < 0 || r >= rows || c >= cols) return true;
+        return ((bits[r * stride + (c >>> 6)] >>> c) & 1L) != 0;
+    }
+
+    public boolean isOpen(int r, int c) {
+        return !isWall(r, c);
+    }
+
+    public void setWall(int r, int c, boolean wall) {
+        int  i    = r * stride + (c >>> 6);
+        long mask = 1L << c;
+        if (wall) bits[i] |=  mask;
+        else      bits[i] &= ~mask;
+    }
+
+    /** Copies row r's wall bits into dst (length at least ceil(cols / 64)). */
+    public void getRowBits(int r, long[] dst) {
+        System.arraycopy(bits, r * stride, dst, 0, stride);
+    }
+
+    /** Overwrites row r from wall bits in the same per-row layout (e.g. from {@link EllerMazeStream}). */
+    public void setRowBits(int r, long[] rowBits) {
+        System.arraycopy(rowBits, 0, bits, r * stride, stride);
+    }
+
+    /** Bitmask of open 4-neighbours of (r, c), using the OPEN_* constants. */
+    public int neighbourMask(int r, int c) {
+        int m = 0;
+        if (!isWall(r - 1, c)) m |= OPEN_UP;
+        if (!isWall(r + 1, c)) m |= OPEN_DOWN;
+        if (!isWall(r, c - 1)) m |= OPEN_LEFT;
+        if (!isWall(r, c + 1)) m |= OPEN_RIGHT;
+        return m;
+    }
+
+    // ── World ↔ cell mapping ───────────────────────────────────────────────
+    /**
+     * Makes this grid a window whose cell (0, 0) is cell (row0, col0) of a bigger
+     * maze: world positions stay put while the window moves over them.
+     */
+    public void setOrigin(int row0, int col0) {
+        this.rowOrigin = row0;
+        this.colOrigin = col0;
+    }
+
+    public int worldToRow(float wy) { return (int)((1f - wy) / cellSize) - rowOrigin; }
+    public int worldToCol(float wx) { return (int)((wx + 1f) / cellSize) - colOrigin; }
+
+    /** Flat index (r * cols + c) of the cell containing the world point. */
+    public int worldToCell(float wx, float wy) {
+        return worldToRow(wy) * cols + worldToCol(wx);
+    }
+
+    /** True if the world point lies in a wall cell or outside the maze. */
+    public boolean isWallAt(float wx, float wy) {
+        return isWall(worldToRow(wy), worldToCol(wx));
+    }
+
+    public float cellCenterX(int c) { return -1 + (c + colOrigin) * cellSize + cellSize / 2f; }
+    public float cellCenterY(int r) { return  1 - (r + rowOrigin) * cellSize - cellSize / 2f; }
+
+    public int   getRows()      { return rows; }
+    public int   getCols()      { return cols; }
+    public float getCellSize()  { return cellSize; }
+    public int   getRowOrigin() { return rowOrigin; }
+    public int   getColOrigin() { return colOrigin; }
+}
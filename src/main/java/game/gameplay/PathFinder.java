@@ -1,63 +1,473 @@
 package game.gameplay;
 
-import java.util.*;
+import java.util.Arrays;
 
+/**
+ * Reusable A* engine bound to one maze. All search state lives in flat int arrays
+ * sized once per maze: g-scores, parents, an indexed binary heap with decrease-key,
+ * and generation stamps so nothing has to be cleared between queries.
+ * A query allocates nothing; results go into a caller-supplied {@link IntPath}.
+ *
+ * Given a {@link CorridorGraph}, searches run over junctions and corridor edges
+ * instead of single cells; {@link #findRoute} returns just the corridor end
+ * points and the caller expands segments as it reaches them.
+ * In {@link Mode#JUMP_POINT} mode (open arenas, braided mazes) the search only
+ * queues jump points and fills the straight runs between them afterwards; where
+ * each straight scan stops is tabled per cell up front, so that mode assumes the
+ * walls no longer change (make a new PathFinder if they do).
+ * Not thread-safe — use one instance per thread.
+ */
 public class PathFinder {
-    // Returns a list of (row,col) pairs from start → goal, inclusive.
-    public static List<int[]> findPath(int[][] maze, int startR, int startC, int goalR, int goalC) {
-        int rows = maze.length, cols = maze[0].length;
-        Node[][] nodes = new Node[rows][cols];
-        for (int r = 0; r < rows; r++)
-            for (int c = 0; c < cols; c++)
-                nodes[r][c] = new Node(r, c);
-
-        PriorityQueue<Node> open = new PriorityQueue<>(Comparator.comparingInt(n -> n.f));
-        boolean[][] closed = new boolean[rows][cols];
-        Node start = nodes[startR][startC];
-        Node goal  = nodes[goalR][goalC];
-
-        start.g = 0;
-        start.h = Math.abs(startR - goalR) + Math.abs(startC - goalC);
-        start.f = start.h;
-        open.add(start);
-
-        int[][] DIRS = {{1,0},{-1,0},{0,1},{0,-1}};
-        while (!open.isEmpty()) {
-            Node cur = open.poll();
-            if (cur == goal) break;
-            closed[cur.r][cur.c] = true;
+    /** How cells are searched when there is no corridor graph. */
+    public enum Mode {
+        /** Plain A*, every open neighbour queued. */
+        CELL,
+        /** 4-connected Jump Point Search: far fewer expansions where there are few walls. */
+        JUMP_POINT
+    }
+
+    private static final int[][] DIRS = {{1,0},{-1,0},{0,1},{0,-1}};
+
+    private final MazeGrid      grid;
+    private final CorridorGraph graph;     // null: cell search, see mode
+    private final Mode          mode;
+    private final int           rows;
+    private final int           cols;
+
+    // ── Per-cell search state (index = r * cols + c) ───────────────────────
+    private final int[] g;
+    private final int[] parent;
+    private final int[] seenGen;    // g/parent valid iff seenGen[i] == generation
+    private final int[] closedGen;  // closed iff closedGen[i] == generation
+    private int generation = 0;
+
+    // ── Indexed binary min-heap on f (ties broken toward larger g) ─────────
+    private final int[] heap;
+    private final int[] heapF;
+    private final int[] heapPos;    // position in heap, or -1 if not queued
+    private int heapSize;
+
+    // ── Jump point tables: steps to where a straight scan from the cell stops ──
+    // (> 0: a jump point that far on, < 0: a wall that far on; goal stops come on top)
+    private final int[] jumpDown, jumpUp, jumpRight, jumpLeft;
+
+    // Cells (or graph nodes) popped by the last query (for profiling/benchmarks)
+    private int expanded;
+
+    // Graph mode scratch
+    private final IntPath route = new IntPath();
+
+    public PathFinder(MazeGrid grid) {
+        this(grid, null, Mode.CELL);
+    }
+
+    public PathFinder(MazeGrid grid, Mode mode) {
+        this(grid, null, mode);
+    }
+
+    public PathFinder(MazeGrid grid, CorridorGraph graph) {
+        this(grid, graph, Mode.CELL);
+    }
+
+    private PathFinder(MazeGrid grid, CorridorGraph graph, Mode mode) {
+        this.grid  = grid;
+        this.graph = graph;
+        this.mode  = mode;
+        this.rows  = grid.getRows();
+        this.cols  = grid.getCols();
+
+        int n = rows * cols + 2;   // graph mode adds two virtual nodes (start, goal)
+        this.g         = new int[n];
+        this.parent    = new int[n];
+        this.seenGen   = new int[n];
+        this.closedGen = new int[n];
+        this.heap      = new int[n];
+        this.heapF     = new int[n];
+        this.heapPos   = new int[n];
+        Arrays.fill(heapPos, -1);
+
+        boolean jps = graph == null && mode == Mode.JUMP_POINT;
+        this.jumpDown  = jps ? new int[rows * cols] : null;
+        this.jumpUp    = jps ? new int[rows * cols] : null;
+        this.jumpRight = jps ? new int[rows * cols] : null;
+        this.jumpLeft  = jps ? new int[rows * cols] : null;
+        if (jps) buildJumpTables();
+    }
+
+    /**
+     * Finds a shortest 4-connected path from start to goal, inclusive of both ends.
+     * Returns false (and leaves {@code out} empty) when the goal cannot be reached.
+     * In graph mode this is {@link #findRoute} with every segment expanded; in
+     * jump point mode the path has the same length and every cell is listed.
+     */
+    public boolean findPath(int startR, int startC, int goalR, int goalC, IntPath out) {
+        if (graph == null) {
+            return mode == Mode.JUMP_POINT
+                ? findJumpPath(startR, startC, goalR, goalC, out)
+                : findCellPath(startR, startC, goalR, goalC, out);
+        }
+
+        out.reset(cols);
+        if (!findRoute(startR, startC, goalR, goalC, route)) return false;
+        out.add(startR, startC);
+        for (int i = 0; i + 1 < route.size(); i++) {
+            graph.expandSegment(route.getCell(i), route.getCell(i + 1), out);
+        }
+        return true;
+    }
+
+    private boolean findCellPath(int startR, int startC, int goalR, int goalC, IntPath out) {
+        out.reset(cols);
+        expanded = 0;
+        if (grid.isWall(startR, startC) || grid.isWall(goalR, goalC)) return false;
+
+        nextGeneration();
+        int start = startR * cols + startC;
+        int goal  = goalR  * cols + goalC;
 
+        g[start]       = 0;
+        parent[start]  = -1;
+        seenGen[start] = generation;
+        push(start, manhattan(startR, startC, goalR, goalC));
+
+        boolean found = false;
+        while (heapSize > 0) {
+            int cur = pop();
+            if (cur == goal) { found = true; break; }
+            closedGen[cur] = generation;
+            expanded++;
+
+            int r = cur / cols, c = cur % cols;
+            int ng = g[cur] + 1;
             for (int[] d : DIRS) {
-                int nr = cur.r + d[0], nc = cur.c + d[1];
-                if (nr<0||nr>=rows||nc<0||nc>=cols) continue;
-                if (maze[nr][nc]==1 || closed[nr][nc]) continue;
-
-                Node nxt = nodes[nr][nc];
-                int ng = cur.g + 1;
-                if (ng < nxt.g) {
-                    nxt.g = ng;
-                    nxt.h = Math.abs(nr - goalR) + Math.abs(nc - goalC);
-                    nxt.f = nxt.g + nxt.h;
-                    nxt.parent = cur;
-                    if (!open.contains(nxt)) open.add(nxt);
+                int nr = r + d[0], nc = c + d[1];
+                if (grid.isWall(nr, nc)) continue;
+                int nxt = nr * cols + nc;
+                if (closedGen[nxt] == generation) continue;
+
+                if (seenGen[nxt] != generation || ng < g[nxt]) {
+                    seenGen[nxt] = generation;
+                    g[nxt]       = ng;
+                    parent[nxt]  = cur;
+                    int f = ng + manhattan(nr, nc, goalR, goalC);
+                    if (heapPos[nxt] < 0) push(nxt, f);
+                    else                  decreaseKey(nxt, f);
                 }
             }
         }
+        clearHeap();
+        if (!found) return false;
+
+        // Reconstruct back to front straight into the caller's buffer
+        int len = g[goal] + 1;
+        out.ensureCapacity(len);
+        int i = len;
+        for (int n = goal; n != -1; n = parent[n]) out.set(--i, n);
+        out.setSize(len);
+        return true;
+    }
+
+    // ──────────────────────────────────────────────
+    // Jump point search (4-connected)
+    // ──────────────────────────────────────────────
+    // Canonical paths go horizontal first: a node reached horizontally may carry
+    // on or turn up/down; one reached vertically only carries on, unless a
+    // sideways cell is open that the previous row could not have reached
+    // sideways (a forced neighbour). Horizontal scans stop wherever a vertical
+    // scan from the cell would find a jump point.
+    private boolean findJumpPath(int startR, int startC, int goalR, int goalC, IntPath out) {
+        out.reset(cols);
+        expanded = 0;
+        if (grid.isWall(startR, startC) || grid.isWall(goalR, goalC)) return false;
+
+        nextGeneration();
+        int start = startR * cols + startC;
+        int goal  = goalR  * cols + goalC;
 
-        // Reconstruct path
-        List<int[]> path = new ArrayList<>();
-        for (Node n = goal; n != null; n = n.parent) {
-            path.add(new int[]{n.r, n.c});
+        g[start]       = 0;
+        parent[start]  = -1;
+        seenGen[start] = generation;
+        push(start, manhattan(startR, startC, goalR, goalC));
+
+        boolean found = false;
+        while (heapSize > 0) {
+            int cur = pop();
+            if (cur == goal) { found = true; break; }
+            closedGen[cur] = generation;
+            expanded++;
+
+            int r = cur / cols, c = cur % cols, p = parent[cur];
+            if (p < 0) {
+                for (int[] d : DIRS) jumpTo(cur, r, c, d[0], d[1], goal);
+            } else if (p / cols == r) {   // arrived horizontally
+                jumpTo(cur, r, c, 0, Integer.signum(c - p % cols), goal);
+                jumpTo(cur, r, c,  1, 0, goal);
+                jumpTo(cur, r, c, -1, 0, goal);
+            } else {                      // arrived vertically
+                int dr = Integer.signum(r - p / cols);
+                jumpTo(cur, r, c, dr, 0, goal);
+                if (forced(r, c, dr, -1)) jumpTo(cur, r, c, 0, -1, goal);
+                if (forced(r, c, dr,  1)) jumpTo(cur, r, c, 0,  1, goal);
+            }
         }
-        Collections.reverse(path);
-        return path;
+        clearHeap();
+        if (!found) return false;
+
+        // Jump points are joined by straight runs; fill them in back to front
+        int len = g[goal] + 1;
+        out.ensureCapacity(len);
+        int i = len;
+        for (int n = goal; n != -1; n = parent[n]) {
+            out.set(--i, n);
+            int p = parent[n];
+            if (p < 0) break;
+            int step = (p / cols == n / cols) ? Integer.signum(p - n) : (p > n ? cols : -cols);
+            for (int x = n + step; x != p; x += step) out.set(--i, x);
+        }
+        out.setSize(len);
+        return true;
     }
 
-    private static class Node {
-        int r,c;
-        int g = Integer.MAX_VALUE, h = 0, f = Integer.MAX_VALUE;
-        Node parent = null;
-        Node(int r,int c){ this.r=r; this.c=c; }
+    /** Scans from (r, c) in one direction and queues the jump point found, if any. */
+    private void jumpTo(int from, int r, int c, int dr, int dc, int goal) {
+        int jp = dr != 0 ? jumpVertical(r, c, dr, goal) : jumpHorizontal(r, c, dc, goal);
+        if (jp < 0 || closedGen[jp] == generation) return;
+
+        int jr = jp / cols, jc = jp % cols;
+        int ng = g[from] + Math.abs(jr - r) + Math.abs(jc - c);
+        if (seenGen[jp] == generation && ng >= g[jp]) return;
+        seenGen[jp] = generation;
+        g[jp]       = ng;
+        parent[jp]  = from;
+        int f = ng + manhattan(jr, jc, goal / cols, goal % cols);
+        if (heapPos[jp] < 0) push(jp, f);
+        else                 decreaseKey(jp, f);
+    }
+
+    /** First jump point scanning from (r, c) by dr (the goal counts as one), or -1 at a wall. */
+    private int jumpVertical(int r, int c, int dr, int goal) {
+        int s = (dr > 0 ? jumpDown : jumpUp)[r * cols + c];
+        if (goal % cols == c) {
+            int k = (goal / cols - r) * dr;
+            if (k >= 1 && k <= (s > 0 ? s : -s - 1)) return goal;
+        }
+        return s > 0 ? (r + dr * s) * cols + c : -1;
+    }
+
+    /** As jumpVertical, sideways; also stops where a vertical scan would reach the goal. */
+    private int jumpHorizontal(int r, int c, int dc, int goal) {
+        int s = (dc > 0 ? jumpRight : jumpLeft)[r * cols + c];
+        int gc = goal % cols;
+        int k = (gc - c) * dc;
+        if (k >= 1 && k <= (s > 0 ? s : -s - 1)
+                && (goal / cols == r || jumpVertical(r, gc, 1, goal) == goal || jumpVertical(r, gc, -1, goal) == goal)) {
+            return r * cols + gc;
+        }
+        return s > 0 ? r * cols + c + dc * s : -1;
+    }
+
+    /** Fills the scan tables, each from the far end so every entry builds on the next cell's. */
+    private void buildJumpTables() {
+        for (int c = 0; c < cols; c++) {
+            for (int r = rows - 1; r >= 0; r--) jumpDown[r * cols + c] = verticalEntry(r, c, 1, jumpDown);
+            for (int r = 0; r < rows; r++)      jumpUp[r * cols + c]   = verticalEntry(r, c, -1, jumpUp);
+        }
+        // Horizontal scans stop wherever a vertical scan finds a jump point
+        for (int r = 0; r < rows; r++) {
+            for (int c = cols - 1; c >= 0; c--) jumpRight[r * cols + c] = horizontalEntry(r, c, 1, jumpRight);
+            for (int c = 0; c < cols; c++)      jumpLeft[r * cols + c]  = horizontalEntry(r, c, -1, jumpLeft);
+        }
     }
-}
 
+    private int verticalEntry(int r, int c, int dr, int[] table) {
+        int nr = r + dr;
+        if (grid.isWall(nr, c)) return -1;
+        if (forced(nr, c, dr, -1) || forced(nr, c, dr, 1)) return 1;
+        int s = table[nr * cols + c];
+        return s > 0 ? s + 1 : s - 1;
+    }
+
+    private int horizontalEntry(int r, int c, int dc, int[] table) {
+        int next = r * cols + c + dc;
+        if (grid.isWall(r, c + dc)) return -1;
+        if (jumpDown[next] > 0 || jumpUp[next] > 0) return 1;
+        int s = table[next];
+        return s > 0 ? s + 1 : s - 1;
+    }
+
+    /** Moving vertically by dr into (r, c): must the search turn sideways (side) here? */
+    private boolean forced(int r, int c, int dr, int side) {
+        return !grid.isWall(r, c + side) && grid.isWall(r - dr, c + side);
+    }
+
+    // ──────────────────────────────────────────────
+    // Corridor graph search
+    // ──────────────────────────────────────────────
+    /**
+     * Shortest route over the corridor graph. {@code out} receives the start cell,
+     * every junction or dead end the route passes through, and the goal cell; each
+     * consecutive pair is joined by one corridor, which
+     * {@link CorridorGraph#expandSegment} or {@link CorridorGraph#firstStep} turn
+     * into cells when needed. Requires a graph.
+     */
+    public boolean findRoute(int startR, int startC, int goalR, int goalC, IntPath out) {
+        if (graph == null) throw new IllegalStateException("PathFinder has no CorridorGraph");
+        out.reset(cols);
+        expanded = 0;
+        if (grid.isWall(startR, startC) || grid.isWall(goalR, goalC)) return false;
+
+        int startCell = startR * cols + startC;
+        int goalCell  = goalR  * cols + goalC;
+        if (startCell == goalCell) {
+            out.add(startR, startC);
+            return true;
+        }
+
+        // Node ids 0..N-1; S and G stand for start/goal cells that lie inside a corridor
+        int nodes = graph.getNodeCount();
+        final int S = nodes, G = nodes + 1;
+        int source = graph.nodeAt(startCell) >= 0 ? graph.nodeAt(startCell) : S;
+        int target = graph.nodeAt(goalCell)  >= 0 ? graph.nodeAt(goalCell)  : G;
+
+        // Goal corridor: reachable from its edge's source (offset) or target (len - offset)
+        int gEdge = target == G ? graph.edgeAt(goalCell) : -1;
+        int gFrom = -1, gTo = -1, gOff = 0, gLen = 0;
+        if (gEdge >= 0) {
+            gFrom = graph.edgeSource(gEdge);
+            gTo   = graph.edgeTarget(gEdge);
+            gOff  = graph.offsetAt(goalCell);
+            gLen  = graph.edgeLength(gEdge);
+        }
+
+        nextGeneration();
+        g[source]       = 0;
+        parent[source]  = -1;
+        seenGen[source] = generation;
+        push(source, 0);
+
+        boolean found = false;
+        while (heapSize > 0) {
+            int cur = pop();
+            if (cur == target) { found = true; break; }
+            closedGen[cur] = generation;
+            expanded++;
+
+            if (cur == S) {
+                int e = graph.edgeAt(startCell), off = graph.offsetAt(startCell), len = graph.edgeLength(e);
+                relax(graph.edgeSource(e), off, cur, goalR, goalC, G);
+                relax(graph.edgeTarget(e), len - off, cur, goalR, goalC, G);
+                if (e == gEdge) relax(G, Math.abs(off - gOff), cur, goalR, goalC, G);
+                continue;
+            }
+            for (int e = graph.firstEdge(cur); e < graph.endEdge(cur); e++) {
+                relax(graph.edgeTarget(e), g[cur] + graph.edgeLength(e), cur, goalR, goalC, G);
+            }
+            if (cur == gFrom) relax(G, g[cur] + gOff, cur, goalR, goalC, G);
+            if (cur == gTo)   relax(G, g[cur] + gLen - gOff, cur, goalR, goalC, G);
+        }
+        clearHeap();
+        if (!found) return false;
+
+        int len = 0;
+        for (int n = target; n != -1; n = parent[n]) len++;
+        out.ensureCapacity(len);
+        int i = len;
+        for (int n = target; n != -1; n = parent[n]) {
+            out.set(--i, n == S ? startCell : n == G ? goalCell : graph.nodeCell(n));
+        }
+        out.setSize(len);
+        return true;
+    }
+
+    private void relax(int node, int ng, int from, int goalR, int goalC, int goalNode) {
+        if (closedGen[node] == generation) return;
+        if (seenGen[node] == generation && ng >= g[node]) return;
+        seenGen[node] = generation;
+        g[node]       = ng;
+        parent[node]  = from;
+        int h = 0;
+        if (node != goalNode) {
+            int cell = graph.nodeCell(node);
+            h = manhattan(cell / cols, cell % cols, goalR, goalC);
+        }
+        if (heapPos[node] < 0) push(node, ng + h);
+        else                   decreaseKey(node, ng + h);
+    }
+
+    /** Number of cells (graph nodes in graph mode, jump points in JPS mode) expanded by the most recent query. */
+    public int getExpandedCount() { return expanded; }
+
+    public Mode getMode() { return mode; }
+
+    private static int manhattan(int r, int c, int gr, int gc) {
+        return Math.abs(r - gr) + Math.abs(c - gc);
+    }
+
+    private void nextGeneration() {
+        if (++generation == Integer.MAX_VALUE) {
+            Arrays.fill(seenGen, 0);
+            Arrays.fill(closedGen, 0);
+            generation = 1;
+        }
+    }
+
+    // ── Heap operations ────────────────────────────────────────────────────
+    private boolean less(int a, int b) {
+        int fa = heapF[heap[a]], fb = heapF[heap[b]];
+        return fa < fb || (fa == fb && g[heap[a]] > g[heap[b]]);
+    }
+
+    private void push(int cell, int f) {
+        heapF[cell] = f;
+        heap[heapSize] = cell;
+        heapPos[cell] = heapSize;
+        siftUp(heapSize++);
+    }
+
+    private void decreaseKey(int cell, int f) {
+        heapF[cell] = f;
+        siftUp(heapPos[cell]);
+    }
+
+    private int pop() {
+        int top = heap[0];
+        heapPos[top] = -1;
+        if (--heapSize > 0) {
+            heap[0] = heap[heapSize];
+            heapPos[heap[0]] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    private void clearHeap() {
+        for (int i = 0; i < heapSize; i++) heapPos[heap[i]] = -1;
+        heapSize = 0;
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int p = (i - 1) >> 1;
+            if (!less(i, p)) break;
+            swap(i, p);
+            i = p;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int l = 2 * i + 1, r = l + 1, m = i;
+            if (l < heapSize && less(l, m)) m = l;
+            if (r < heapSize && less(r, m)) m = r;
+            if (m == i) return;
+            swap(i, m);
+            i = m;
+        }
+    }
+
+    private void swap(int a, int b) {
+        int ca = heap[a], cb = heap[b];
+        heap[a] = cb; heapPos[cb] = a;
+        heap[b] = ca; heapPos[ca] = b;
+    }
+}
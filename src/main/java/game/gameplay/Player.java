@@ -5,29 +5,42 @@ import org.joml.Vector2f;
 import game.app.GameConfig;
 
 public class Player {
-    private final int[][] maze;
+    /** Cell the player starts every level in. */
+    public static final int START_ROW = 1;
+    public static final int START_COL = 1;
+
+    private final MazeGrid grid;
     private final int rows;
     private final float cellSize;
     private final float size;
     private final float speed;
 
     private float x, y;
+    private float prevX, prevY;     // position at the start of the current tick
     private Direction dir = Direction.RIGHT;
 
     public enum Direction { UP, DOWN, LEFT, RIGHT }
 
-    public Player(int[][] maze, int rows) {
-        this.maze     = maze;
-        this.rows     = rows;
-        this.cellSize = 2.0f / rows;
+    public Player(MazeGrid grid) {
+        this.grid     = grid;
+        this.rows     = grid.getRows();
+        this.cellSize = grid.getCellSize();
 
         // pick these to taste — here tank is 0.3× cell, speed same
         this.size  = cellSize * 0.2f;
         this.speed = cellSize * 0.08f;
 
         // spawn in top-left corner of logical cell (1,1)
-        this.x = -1 + 1 * cellSize + cellSize/2f;
-        this.y =  1 - 1 * cellSize - cellSize/2f;
+        this.x = grid.cellCenterX(START_COL);
+        this.y = grid.cellCenterY(START_ROW);
+        this.prevX = x;
+        this.prevY = y;
+    }
+
+    /** Remembers the current position so rendering can interpolate to the next tick. */
+    public void storePrevious() {
+        prevX = x;
+        prevY = y;
     }
 
     public void move(int dx, int dy) {
@@ -44,13 +57,22 @@ public class Player {
         }
     }
 
+    /**
+     * AABB test against only the wall cells the tank's bounding box can touch.
+     * Cells off the grid count as walls, so the edge of a streamed window holds.
+     */
     private boolean isColliding(float px, float py) {
         float half = cellSize / 2f;
-        for (int r = 0; r < rows; r++) {
-            for (int c = 0; c < rows; c++) {
-                if (maze[r][c] == 1) {
-                    float cx = -1 + c * cellSize + half;
-                    float cy =  1 - r * cellSize - half;
+        float reach = size + cellSize * 0.001f; // tiny slack so edge-touching cells stay in range
+        int r0 = grid.worldToRow(py + reach);
+        int r1 = grid.worldToRow(py - reach);
+        int c0 = grid.worldToCol(px - reach);
+        int c1 = grid.worldToCol(px + reach);
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                if (grid.isWall(r, c)) {
+                    float cx = grid.cellCenterX(c);
+                    float cy = grid.cellCenterY(r);
                     if (Math.abs(px - cx) < half + size &&
                         Math.abs(py - cy) < half + size) {
                         return true;
@@ -62,10 +84,13 @@ public class Player {
     }
 
     public boolean reachedGoal() {
-    // Compute the center of the goal cell at (rows-2, rows-2)
-    int goalCell = rows - 2;
-    float cx = -1 + goalCell * cellSize + cellSize/2f;
-    float cy =  1 - goalCell * cellSize - cellSize/2f;
+        return reachedGoal(rows - 2, rows - 2);
+    }
+
+    /** True once the tank touches the goal cell (goalR, goalC) at all. */
+    public boolean reachedGoal(int goalR, int goalC) {
+    float cx = grid.cellCenterX(goalC);
+    float cy = grid.cellCenterY(goalR);
     float half = cellSize / 2f;  // half-width of the goal cell
 
     // Player bounding box
@@ -82,15 +107,15 @@ public class Player {
 }
     public boolean isOverCell(int cellR, int cellC) {
     // get logical center of that cell
-    float cx = -1 + cellC * cellSize + cellSize/2f;
-    float cy =  1 - cellR * cellSize - cellSize/2f;
+    float cx = grid.cellCenterX(cellC);
+    float cy = grid.cellCenterY(cellR);
     // bounding‐box overlap test
     return Math.abs(x - cx) < size + cellSize/2f
         && Math.abs(y - cy) < size + cellSize/2f;
 }
 
-public Bullet shoot() {
-        return new Bullet(x, y, dir, maze, rows, GameConfig.PLAYER_BULLET_SPEED);
+public void shoot(BulletSystem bullets) {
+        bullets.spawn(x, y, dir, GameConfig.PLAYER_BULLET_SPEED, BulletSystem.OWNER_PLAYER);
     }
 
 /** Returns the player’s current world‐space position. */
@@ -100,6 +125,8 @@ public Bullet shoot() {
 
     public float getX()               { return x;      }
     public float getY()               { return y;      }
+    public float getRenderX(float alpha) { return prevX + (x - prevX) * alpha; }
+    public float getRenderY(float alpha) { return prevY + (y - prevY) * alpha; }
     public float getSize()            { return size;   }
     public Direction getDirection()   { return dir;    }
 }
@@ -0,0 +1,77 @@
+package game.gameplay;
+
+import java.util.Random;
+
+/**
+ * Open interior cells of a maze bucketed by straight-line distance from the
+ * player spawn (bucket b holds cells at distance [b, b + 1) cells). Built once
+ * per level in O(rows * cols); afterwards any number of spawn points "at least
+ * this far from the player" are drawn in O(1) each, with no retry loop.
+ */
+public final class SpawnIndex {
+    private final int   cols;
+    private final int[] cells;         // flat indices (r * cols + c), nearest bucket first
+    private final int[] bucketStart;   // bucket b is cells[bucketStart[b] .. bucketStart[b + 1])
+
+    public SpawnIndex(MazeGrid grid, int spawnR, int spawnC) {
+        int rows = grid.getRows();
+        this.cols = grid.getCols();
+
+        int buckets = (int) Math.hypot(Math.max(spawnR, rows - 1 - spawnR),
+                                       Math.max(spawnC, cols - 1 - spawnC)) + 1;
+        int[] count = new int[buckets + 1];
+        int open = 0;
+        for (int r = 1; r < rows - 1; r++) {
+            for (int c = 1; c < cols - 1; c++) {
+                if (grid.isWall(r, c)) continue;
+                count[bucketOf(r - spawnR, c - spawnC) + 1]++;
+                open++;
+            }
+        }
+
+        // Counting sort by bucket
+        for (int b = 0; b < buckets; b++) count[b + 1] += count[b];
+        this.bucketStart = count.clone();
+        this.cells = new int[open];
+        for (int r = 1; r < rows - 1; r++) {
+            for (int c = 1; c < cols - 1; c++) {
+                if (grid.isWall(r, c)) continue;
+                cells[count[bucketOf(r - spawnR, c - spawnC)]++] = r * cols + c;
+            }
+        }
+    }
+
+    private static int bucketOf(int dr, int dc) {
+        return (int) Math.hypot(dr, dc);
+    }
+
+    /**
+     * A uniformly random open cell at least minCells from the spawn (rounded up
+     * to whole cells), as a flat index. If the maze has no such cell, falls back
+     * to the farthest non-empty bucket, so it always returns.
+     */
+    public int sample(Random rand, float minCells) {
+        if (cells.length == 0) throw new IllegalStateException("maze has no open cells");
+        int from = firstCellAtLeast(minCells);
+        if (from == cells.length) {
+            // Nothing far enough: use the farthest ring we have
+            int b = bucketStart.length - 2;
+            while (bucketStart[b] == cells.length) b--;
+            from = bucketStart[b];
+        }
+        return cells[from + rand.nextInt(cells.length - from)];
+    }
+
+    /** Number of open cells at least minCells from the spawn. */
+    public int countAtLeast(float minCells) {
+        return cells.length - firstCellAtLeast(minCells);
+    }
+
+    private int firstCellAtLeast(float minCells) {
+        int b = Math.max(0, (int) Math.ceil(minCells));
+        return b < bucketStart.length ? bucketStart[b] : cells.length;
+    }
+
+    public int getCols()      { return cols; }
+    public int getOpenCount() { return cells.length; }
+}
@@ -0,0 +1,128 @@
+package game.gameplay;
+
+import game.app.GameConfig;
+
+/**
+ * Hierarchical timing wheel on the world's sim-tick clock. Entities arm a
+ * {@link Timer} for some ticks ahead instead of counting a cooldown down every
+ * tick, so a tick only touches the timers that actually fire. Timers are
+ * intrusive list nodes: arming, re-arming and cancelling are O(1) and never
+ * allocate.
+ *
+ * Level L has SLOTS buckets of SLOTS^L ticks each. A timer sits in the lowest
+ * level whose span covers its delay; when the level below wraps round, the
+ * next bucket up is emptied and its timers are filed again, closer in. Delays
+ * past the top level's span (SLOTS^LEVELS ticks, ~39 h at SIM_HZ 120) are
+ * clamped to it.
+ */
+public final class TimerWheel {
+    private static final int  BITS   = 6;
+    private static final int  SLOTS  = 1 << BITS;
+    private static final int  MASK   = SLOTS - 1;
+    private static final int  LEVELS = 4;
+    private static final long MAX_DELAY = (1L << (BITS * LEVELS)) - 1;
+
+    /** A reusable wake-up; runs its action on the tick it comes due. */
+    public static final class Timer {
+        private final Runnable action;
+        private long  deadline;
+        private int   bucket = -1;   // -1: not armed
+        private Timer prev, next;
+
+        public Timer(Runnable action) {
+            this.action = action;
+        }
+
+        public boolean isArmed()     { return bucket >= 0; }
+        /** Tick the timer fires on (last value if not armed). */
+        public long    getDeadline() { return deadline; }
+    }
+
+    private final Timer[] buckets = new Timer[LEVELS * SLOTS];
+    private long now;
+    private int  armed;
+    private long fired;
+
+    /** Number of whole ticks closest to the given sim time (at least one). */
+    public static long ticks(double seconds) {
+        return Math.max(1, Math.round(seconds * GameConfig.SIM_HZ));
+    }
+
+    // ──────────────────────────────────────────────
+    // Arming
+    // ──────────────────────────────────────────────
+    /** Arms (or re-arms) the timer to fire delayTicks from now; at least one tick ahead. */
+    public void schedule(Timer t, long delayTicks) {
+        if (t.bucket >= 0) unlink(t);
+        else               armed++;
+        t.deadline = now + Math.min(Math.max(1, delayTicks), MAX_DELAY);
+        file(t);
+    }
+
+    /** Disarms the timer; does nothing if it isn't armed. */
+    public void cancel(Timer t) {
+        if (t.bucket < 0) return;
+        unlink(t);
+        armed--;
+    }
+
+    private void file(Timer t) {
+        long delay = t.deadline - now;
+        int level = 0;
+        while (level < LEVELS - 1 && delay >= 1L << (BITS * (level + 1))) level++;
+        int b = level * SLOTS + (int) ((t.deadline >>> (BITS * level)) & MASK);
+
+        t.bucket = b;
+        t.prev   = null;
+        t.next   = buckets[b];
+        if (t.next != null) t.next.prev = t;
+        buckets[b] = t;
+    }
+
+    private void unlink(Timer t) {
+        if (t.prev != null) t.prev.next = t.next;
+        else                buckets[t.bucket] = t.next;
+        if (t.next != null) t.next.prev = t.prev;
+        t.prev = t.next = null;
+        t.bucket = -1;
+    }
+
+    // ──────────────────────────────────────────────
+    // Ticking
+    // ──────────────────────────────────────────────
+    /** Moves the clock on one tick and runs every timer due on it. */
+    public void advance() {
+        now++;
+        // Level below wrapped: bring the next bucket up down a level (and so on up)
+        for (int level = 1; level < LEVELS; level++) {
+            if ((now & ((1L << (BITS * level)) - 1)) != 0) break;
+            cascade(level * SLOTS + (int) ((now >>> (BITS * level)) & MASK));
+        }
+
+        int b = (int) (now & MASK);
+        Timer t;
+        while ((t = buckets[b]) != null) {
+            // An action may re-arm its own timer; that always lands in another bucket
+            unlink(t);
+            armed--;
+            fired++;
+            t.action.run();
+        }
+    }
+
+    private void cascade(int b) {
+        Timer t = buckets[b];
+        buckets[b] = null;
+        while (t != null) {
+            Timer next = t.next;
+            file(t);
+            t = next;
+        }
+    }
+
+    // ── Getters ───────────────────────────────────────────────────────────
+    /** Ticks advanced so far. */
+    public long getNow()        { return now; }
+    public int  getArmedCount() { return armed; }
+    public long getFiredCount() { return fired; }
+}
@@ -0,0 +1,109 @@
+package game.gameplay;
+
+import java.util.Arrays;
+
+/**
+ * Per-maze table of how far each cell can see along the four cardinal directions.
+ * For every open cell it stores the number of open cells before the next wall
+ * (or the maze edge) going up, down, left and right. Built once per level (and
+ * again whenever a streamed window moves) in O(rows * cols); bullets use it to
+ * work out their whole flight at spawn time, and snipers to tell in O(1) whether
+ * the player stands in the corridor they watch.
+ */
+public final class WallRays {
+    private final MazeGrid grid;
+    private final int      rows;
+    private final int      cols;
+    private final float    half;
+
+    // Open-run lengths beyond each cell (index = r * cols + c); 0 for walls
+    private final int[] up, down, left, right;
+
+    public WallRays(MazeGrid grid) {
+        this.grid  = grid;
+        this.rows  = grid.getRows();
+        this.cols  = grid.getCols();
+        this.half  = grid.getCellSize() / 2f;
+        int n = rows * cols;
+        this.up    = new int[n];
+        this.down  = new int[n];
+        this.left  = new int[n];
+        this.right = new int[n];
+        rebuild();
+    }
+
+    /** Recomputes every run after the grid's walls changed (e.g. a streamed window moved). */
+    public void rebuild() {
+        Arrays.fill(up, 0);
+        Arrays.fill(down, 0);
+        Arrays.fill(left, 0);
+        Arrays.fill(right, 0);
+
+        // Horizontal runs: sweep each row both ways
+        for (int r = 0; r < rows; r++) {
+            for (int c = 1; c < cols; c++) {
+                int i = r * cols + c;
+                if (grid.isOpen(r, c) && grid.isOpen(r, c - 1)) left[i] = left[i - 1] + 1;
+            }
+            for (int c = cols - 2; c >= 0; c--) {
+                int i = r * cols + c;
+                if (grid.isOpen(r, c) && grid.isOpen(r, c + 1)) right[i] = right[i + 1] + 1;
+            }
+        }
+        // Vertical runs: sweep each column both ways
+        for (int c = 0; c < cols; c++) {
+            for (int r = 1; r < rows; r++) {
+                int i = r * cols + c;
+                if (grid.isOpen(r, c) && grid.isOpen(r - 1, c)) up[i] = up[i - cols] + 1;
+            }
+            for (int r = rows - 2; r >= 0; r--) {
+                int i = r * cols + c;
+                if (grid.isOpen(r, c) && grid.isOpen(r + 1, c)) down[i] = down[i + cols] + 1;
+            }
+        }
+    }
+
+    /** Open cells beyond (r, c) in the given direction before a wall; 0 for walls. */
+    public int openCells(int r, int c, Player.Direction dir) {
+        if (grid.isWall(r, c)) return 0;
+        int i = r * cols + c;
+        switch (dir) {
+            case UP:    return up[i];
+            case DOWN:  return down[i];
+            case LEFT:  return left[i];
+            case RIGHT: return right[i];
+            default:    return 0;
+        }
+    }
+
+    /** True if (tr, tc) is one of the open cells beyond (r, c) in the given direction, with no wall between. */
+    public boolean inSight(int r, int c, int tr, int tc, Player.Direction dir) {
+        int run = openCells(r, c, dir);
+        switch (dir) {
+            case UP:    return tc == c && tr < r && r - tr <= run;
+            case DOWN:  return tc == c && tr > r && tr - r <= run;
+            case LEFT:  return tr == r && tc < c && c - tc <= run;
+            case RIGHT: return tr == r && tc > c && tc - c <= run;
+            default:    return false;
+        }
+    }
+
+    /**
+     * World distance a point can travel in the given direction before it enters a wall
+     * cell, using the same cell mapping as {@link MazeGrid#isWallAt}. 0 if already in a wall.
+     */
+    public float distanceToWall(float wx, float wy, Player.Direction dir) {
+        int r = grid.worldToRow(wy);
+        int c = grid.worldToCol(wx);
+        if (grid.isWall(r, c)) return 0f;
+
+        int run = openCells(r, c, dir);
+        switch (dir) {
+            case UP:    return (grid.cellCenterY(r - run) + half) - wy;  // top edge of the last open cell
+            case DOWN:  return wy - (grid.cellCenterY(r + run) - half);  // bottom edge of the last open cell
+            case LEFT:  return wx - (grid.cellCenterX(c - run) - half);
+            case RIGHT: return (grid.cellCenterX(c + run) + half) - wx;
+            default:    return 0f;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package game.gameplay.chunks;
+
+import game.gameplay.MazeGrid;
+
+/**
+ * Produces the cells of one chunk of a {@link ChunkedMaze}. Called on the
+ * loader threads, so implementations must be thread-safe and should not touch
+ * game state; the same (cx, cy) must always give the same chunk.
+ */
+public interface ChunkSource {
+    /**
+     * Returns a {@link ChunkedMaze#CHUNK_SIZE}-square grid for chunk (cx, cy),
+     * or null if the chunk lies outside the map (treated as solid wall).
+     */
+    MazeGrid loadChunk(int cx, int cy);
+}
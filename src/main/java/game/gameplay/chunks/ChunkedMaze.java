@@ -0,0 +1,237 @@
+package game.gameplay.chunks;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import game.gameplay.MazeGrid;
+
+/**
+ * A maze too large (or infinite) to hold at once, split into square chunks of
+ * {@link #CHUNK_SIZE} cells. Chunks near the focus point are loaded from a
+ * {@link ChunkSource} on background threads and evicted least-recently-used
+ * once more than {@code maxResident} are held. Cell queries only ever read
+ * resident chunks; anything not loaded yet reads as wall, so callers never block.
+ *
+ * Cells use global (row, col) coordinates, which may be negative for unbounded
+ * sources. The existing per-level code (PathFinder, DistanceField, WallRays,
+ * GameRenderer) works on a fixed-size window copied out with {@link #copyRegion},
+ * so it only ever sees the resident neighbourhood of the player; a streamed
+ * {@link game.gameplay.GameWorld} drives this from its tick.
+ *
+ * A chunk whose load throws is not installed: it is requested again once
+ * RETRY_UPDATES more {@link #update} calls have passed, and {@link #preload}
+ * gives up with the failure.
+ *
+ * Not thread-safe: call everything except the loader from the game thread.
+ */
+public final class ChunkedMaze implements AutoCloseable {
+    /** Cells per chunk side; odd so each chunk carves as a self-contained maze. */
+    public static final int CHUNK_SIZE = 63;
+
+    // Updates a failed chunk waits before it is requested again (~1 s at one update per tick)
+    private static final int RETRY_UPDATES = 120;
+
+    private final ChunkSource     source;
+    private final int             maxResident;
+    private final ExecutorService loader;
+
+    // LRU order: access-ordered, eldest first (game thread only)
+    private final LinkedHashMap<Long, MazeGrid> resident = new LinkedHashMap<>(64, 0.75f, true);
+    private final Set<Long>                     pending  = new HashSet<>();
+    private final ConcurrentLinkedQueue<Loaded> loaded   = new ConcurrentLinkedQueue<>();
+    private final Map<Long, Long>               retryAt  = new HashMap<>();   // failed key -> update count it may retry on
+    private long                                updates;
+
+    // Most recent failed load (game thread only)
+    private Throwable lastFailure;
+    private long      failureCount;
+
+    // Last chunk touched by isWall (most queries hit the same chunk in a row)
+    private long     cachedKey  = Long.MIN_VALUE;
+    private MazeGrid cachedGrid = null;
+    private boolean  cachedHit  = false;
+
+    /** A chunk finished on a loader thread; grid is null for chunks outside the map or failed loads. */
+    private static final class Loaded {
+        final long      key;
+        final MazeGrid  grid;
+        final Throwable error;   // non-null: the source threw
+        Loaded(long key, MazeGrid grid, Throwable error) { this.key = key; this.grid = grid; this.error = error; }
+    }
+
+    private static final MazeGrid OUTSIDE = MazeGrid.filled(CHUNK_SIZE, CHUNK_SIZE);
+
+    public ChunkedMaze(ChunkSource source, int maxResident, int loaderThreads) {
+        this.source      = source;
+        this.maxResident = maxResident;
+        this.loader      = Executors.newFixedThreadPool(loaderThreads, r -> {
+            Thread t = new Thread(r, "chunk-loader");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    // ──────────────────────────────────────────────
+    // Streaming (call once per tick)
+    // ──────────────────────────────────────────────
+    /**
+     * Installs chunks finished since the last call, requests every chunk within
+     * radiusChunks of the focus cell that is neither resident nor in flight, and
+     * evicts least-recently-used chunks outside that radius over the budget.
+     * Failed loads are dropped from the in-flight set and requested again after
+     * RETRY_UPDATES calls, so a source that keeps failing isn't hammered every tick.
+     */
+    public void update(int focusR, int focusC, int radiusChunks) {
+        updates++;
+        for (Loaded l; (l = loaded.poll()) != null; ) {
+            pending.remove(l.key);
+            if (l.error != null) {
+                lastFailure = l.error;
+                failureCount++;
+                retryAt.put(l.key, updates + RETRY_UPDATES);
+                continue;
+            }
+            resident.put(l.key, l.grid != null ? l.grid : OUTSIDE);
+        }
+        invalidateCache();   // installs and evictions below may replace the cached chunk
+
+        int fcx = chunkOf(focusC), fcy = chunkOf(focusR);
+        for (int cy = fcy - radiusChunks; cy <= fcy + radiusChunks; cy++) {
+            for (int cx = fcx - radiusChunks; cx <= fcx + radiusChunks; cx++) {
+                long key = key(cx, cy);
+                if (resident.get(key) != null || pending.contains(key)) continue;   // get() also marks it recently used
+                Long retry = retryAt.get(key);
+                if (retry != null) {
+                    if (updates < retry) continue;
+                    retryAt.remove(key);
+                }
+                pending.add(key);
+                final int x = cx, y = cy;
+                loader.execute(() -> load(key, x, y));
+            }
+        }
+
+        if (resident.size() <= maxResident) return;
+        invalidateCache();
+        List<Long> keep = new ArrayList<>();
+        Iterator<Map.Entry<Long, MazeGrid>> it = resident.entrySet().iterator();
+        while (resident.size() - keep.size() > maxResident && it.hasNext()) {
+            long key = it.next().getKey();
+            int cx = (int) key, cy = (int) (key >> 32);
+            if (Math.abs(cx - fcx) <= radiusChunks && Math.abs(cy - fcy) <= radiusChunks) {
+                keep.add(key);   // still in range: never evicted, even over budget
+            } else {
+                it.remove();
+            }
+        }
+    }
+
+    /** Loader thread: always posts a result, so a throwing source can't leave the key in flight. */
+    private void load(long key, int cx, int cy) {
+        try {
+            loaded.add(new Loaded(key, source.loadChunk(cx, cy), null));
+        } catch (Throwable t) {   // includes InternalError from a faulting file mapping
+            loaded.add(new Loaded(key, null, t));
+        }
+    }
+
+    /**
+     * Blocks until every chunk within radiusChunks of the focus is resident.
+     * For start-up and level loads only; during play use {@link #update}.
+     *
+     * @throws IllegalStateException if a chunk fails to load meanwhile (the cause is the source's exception)
+     */
+    public void preload(int focusR, int focusC, int radiusChunks) throws InterruptedException {
+        int  want     = (2 * radiusChunks + 1) * (2 * radiusChunks + 1);
+        long failures = failureCount;
+        update(focusR, focusC, radiusChunks);
+        while (countResident(focusR, focusC, radiusChunks) < want) {
+            if (failureCount != failures) throw new IllegalStateException("chunk failed to load", lastFailure);
+            Thread.sleep(1);
+            update(focusR, focusC, radiusChunks);
+        }
+    }
+
+    private int countResident(int focusR, int focusC, int radiusChunks) {
+        int n = 0, fcx = chunkOf(focusC), fcy = chunkOf(focusR);
+        for (int cy = fcy - radiusChunks; cy <= fcy + radiusChunks; cy++)
+            for (int cx = fcx - radiusChunks; cx <= fcx + radiusChunks; cx++)
+                if (resident.containsKey(key(cx, cy))) n++;
+        return n;
+    }
+
+    // ──────────────────────────────────────────────
+    // Cell queries (resident chunks only)
+    // ──────────────────────────────────────────────
+    /** True for walls, for cells outside the map, and for cells whose chunk isn't loaded. */
+    public boolean isWall(int r, int c) {
+        int cx = chunkOf(c), cy = chunkOf(r);
+        long key = key(cx, cy);
+        if (key != cachedKey) {
+            cachedKey  = key;
+            cachedGrid = resident.get(key);
+            cachedHit  = cachedGrid != null;
+        }
+        if (!cachedHit) return true;
+        return cachedGrid.isWall(r - cy * CHUNK_SIZE, c - cx * CHUNK_SIZE);
+    }
+
+    public boolean isResident(int r, int c) {
+        return resident.containsKey(key(chunkOf(c), chunkOf(r)));
+    }
+
+    /** True if every chunk overlapping the rows x cols window at (r0, c0) is resident. */
+    public boolean isResident(int r0, int c0, int rows, int cols) {
+        for (int cy = chunkOf(r0); cy <= chunkOf(r0 + rows - 1); cy++)
+            for (int cx = chunkOf(c0); cx <= chunkOf(c0 + cols - 1); cx++)
+                if (!resident.containsKey(key(cx, cy))) return false;
+        return true;
+    }
+
+    /**
+     * Copies the window whose top-left cell is (r0, c0) into dst (dst's size sets
+     * the window size). Unloaded cells come out as walls.
+     */
+    public void copyRegion(MazeGrid dst, int r0, int c0) {
+        for (int r = 0; r < dst.getRows(); r++)
+            for (int c = 0; c < dst.getCols(); c++)
+                dst.setWall(r, c, isWall(r0 + r, c0 + c));
+    }
+
+    // ── Chunk coordinates ─────────────────────────────────────────────────
+    /** Chunk index containing a global row or column. */
+    public static int chunkOf(int cell) {
+        return Math.floorDiv(cell, CHUNK_SIZE);
+    }
+
+    private static long key(int cx, int cy) {
+        return ((long) cy << 32) | (cx & 0xFFFFFFFFL);
+    }
+
+    private void invalidateCache() {
+        cachedKey  = Long.MIN_VALUE;
+        cachedGrid = null;
+        cachedHit  = false;
+    }
+
+    public int getResidentCount() { return resident.size(); }
+    public int getPendingCount()  { return pending.size(); }
+    /** Loads that threw so far, and the latest such exception (null if none). */
+    public long      getFailureCount() { return failureCount; }
+    public Throwable getLastFailure()  { return lastFailure; }
+
+    /** Stops the loader threads; chunks still in flight are dropped. */
+    @Override
+    public void close() {
+        loader.shutdownNow();
+    }
+}
@@ -0,0 +1,64 @@
+package game.gameplay.chunks;
+
+import game.gameplay.MazeGenerator;
+import game.gameplay.MazeGrid;
+
+import static game.gameplay.chunks.ChunkedMaze.CHUNK_SIZE;
+
+/**
+ * Procedural chunks: each chunk is its own perfect maze seeded from the world
+ * seed and its coordinates, with one doorway through each shared border. Both
+ * sides of a border derive the doorway from the same hash, so chunks can be
+ * generated independently, in any order, and still join into one connected
+ * maze. Unbounded by default; a size in chunks closes off the outer edge.
+ */
+public final class GeneratedChunkSource implements ChunkSource {
+    private final long seed;
+    private final int  chunksWide;   // 0 = unbounded
+    private final int  chunksHigh;
+
+    /** Infinite world in every direction. */
+    public GeneratedChunkSource(long seed) {
+        this(seed, 0, 0);
+    }
+
+    /** Finite world of chunksWide x chunksHigh chunks starting at chunk (0, 0). */
+    public GeneratedChunkSource(long seed, int chunksWide, int chunksHigh) {
+        this.seed       = seed;
+        this.chunksWide = chunksWide;
+        this.chunksHigh = chunksHigh;
+    }
+
+    @Override
+    public MazeGrid loadChunk(int cx, int cy) {
+        if (!inBounds(cx, cy)) return null;
+
+        MazeGrid grid = new MazeGenerator(CHUNK_SIZE, CHUNK_SIZE, mix(seed, cx, cy, 0)).getGrid();
+
+        // Doorways on shared borders (east/south are owned by this chunk, west/north by the neighbour)
+        if (inBounds(cx + 1, cy)) grid.setWall(doorOffset(cx, cy, 1), CHUNK_SIZE - 1, false);
+        if (inBounds(cx - 1, cy)) grid.setWall(doorOffset(cx - 1, cy, 1), 0, false);
+        if (inBounds(cx, cy + 1)) grid.setWall(CHUNK_SIZE - 1, doorOffset(cx, cy, 2), false);
+        if (inBounds(cx, cy - 1)) grid.setWall(0, doorOffset(cx, cy - 1, 2), false);
+        return grid;
+    }
+
+    private boolean inBounds(int cx, int cy) {
+        if (chunksWide <= 0) return true;
+        return cx >= 0 && cy >= 0 && cx < chunksWide && cy < chunksHigh;
+    }
+
+    /** Odd cell offset (a maze corridor) of the doorway on chunk (cx, cy)'s east (1) or south (2) border. */
+    private int doorOffset(int cx, int cy, int side) {
+        int corridors = CHUNK_SIZE / 2;
+        return 2 * (int) Long.remainderUnsigned(mix(seed, cx, cy, side), corridors) + 1;
+    }
+
+    /** SplitMix64 finaliser over the seed, chunk coordinates and a salt. */
+    private static long mix(long seed, int cx, int cy, int salt) {
+        long z = seed + 0x9E3779B97F4A7C15L * (((long) cx << 32) ^ (cy & 0xFFFFFFFFL)) + salt * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
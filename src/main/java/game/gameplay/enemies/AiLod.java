@@ -0,0 +1,86 @@
+package game.gameplay.enemies;
+
+import java.util.List;
+
+import game.app.GameConfig;
+import game.gameplay.BulletSystem;
+import game.gameplay.Player;
+
+/**
+ * AI level of detail. Each enemy is put in a tier by its path distance to the
+ * player, as of each of its updates: NEAR enemies
+ * run every tick, MID ones every LOD_MID_INTERVAL ticks and FAR ones every
+ * LOD_FAR_INTERVAL ticks. A skipped tick's time is not lost: the next update
+ * gets all of it, so a distant enemy covers the same ground in coarser hops
+ * and its shot cooldowns run at the same rate. Updates in a tier are staggered
+ * so they don't all land on the same tick.
+ *
+ * The tier comes from the distance the enemy read during its own field
+ * lookup, so picking it never touches the field (and its repair work) outside
+ * the AI budget. An enemy refreshes that distance on the first update after
+ * the field changes, so a FAR enemy's tier is at most one interval (plus any
+ * queueing) behind. Enemies that opt out via {@link Enemy#usesFieldLod}
+ * (snipers) always stay NEAR.
+ *
+ * Only kicks in once a level has AI_LOD_MIN_ENEMIES enemies; smaller waves
+ * (all the regular levels) update every enemy every tick as before.
+ */
+public final class AiLod {
+    public enum Tier { NEAR, MID, FAR }
+
+    private long tick;
+
+    // ── Stats (last tick) ─────────────────────────────────────────────────
+    private final int[] tierCounts = new int[Tier.values().length];
+    private int         updated;
+
+    /** Runs every enemy that is due this tick, handing it the time since its last update. */
+    public void update(List<Enemy> enemies, float dt, Player player, BulletSystem bullets) {
+        tick++;
+        updated = 0;
+        for (int t = 0; t < tierCounts.length; t++) tierCounts[t] = 0;
+        boolean lod = enemies.size() >= GameConfig.AI_LOD_MIN_ENEMIES;
+
+        for (int i = 0; i < enemies.size(); i++) {
+            Enemy e = enemies.get(i);
+            e.lodElapsed += dt;
+            if (lod && tick < e.lodNextTick) {
+                tierCounts[e.lodTier.ordinal()]++;
+                continue;
+            }
+
+            e.update(e.lodElapsed, player, bullets);
+            e.lodElapsed = 0f;
+            updated++;
+
+            Tier tier = lod ? tierOf(e) : Tier.NEAR;
+            int interval = intervalOf(tier);
+            // First scheduling spreads enemies over the interval; after that the offset is kept
+            e.lodNextTick = tick + (e.lodNextTick == 0 ? 1 + i % interval : interval);
+            e.lodTier = tier;
+            tierCounts[tier.ordinal()]++;
+        }
+    }
+
+    private static Tier tierOf(Enemy e) {
+        if (!e.usesFieldLod()) return Tier.NEAR;
+        int d = e.getFieldDistance();
+        if (d <= GameConfig.LOD_NEAR_CELLS) return Tier.NEAR;
+        if (d <= GameConfig.LOD_FAR_CELLS)  return Tier.MID;
+        return Tier.FAR;   // including unreachable
+    }
+
+    private static int intervalOf(Tier tier) {
+        switch (tier) {
+            case MID: return GameConfig.LOD_MID_INTERVAL;
+            case FAR: return GameConfig.LOD_FAR_INTERVAL;
+            default:  return 1;
+        }
+    }
+
+    // ── Getters ───────────────────────────────────────────────────────────
+    /** Enemies in the tier as of the last tick. */
+    public int getTierCount(Tier tier) { return tierCounts[tier.ordinal()]; }
+    /** Enemies that ran their update on the last tick. */
+    public int getUpdatedCount()       { return updated; }
+}
@@ -0,0 +1,112 @@
+package game.gameplay.enemies;
+
+import java.util.ArrayDeque;
+
+import game.gameplay.DistanceField;
+
+/**
+ * Spreads enemy distance field lookups across ticks under a per-tick time budget.
+ * An enemy that needs a new waypoint submits itself; the request runs at once
+ * while the tick still has budget left, otherwise it is queued and served
+ * first thing next tick, oldest first. At least one queued request runs every
+ * tick, so the queue always drains. On big mazes a lookup can carry distance
+ * field repair work, and this keeps a large wave from landing it all on one tick.
+ * Whatever budget is left at the end of the tick goes to the field's background
+ * flood, when it has one.
+ *
+ * Wait times (in ticks and wall-clock time) and per-tick planning time are
+ * tracked for profiling; {@link #resetStats} clears them.
+ */
+public final class AiScheduler {
+    // Background flood time per tick even when lookups used up the budget, so floods always land
+    private static final long MIN_FLOOD_NANOS = 100_000L;
+
+    private final long               budgetNanos;   // <= 0: unlimited
+    private final ArrayDeque<Enemy>  queue = new ArrayDeque<>();
+    private long tick;
+    private long tickSpentNanos;
+
+    // ── Stats ─────────────────────────────────────────────────────────────
+    private long served;
+    private long totalWaitTicks, maxWaitTicks;
+    private long totalWaitNanos, maxWaitNanos;
+    private long maxTickNanos;
+    private int  maxPending;
+
+    /** budgetMicros of planning per tick; 0 or less disables the limit. */
+    public AiScheduler(long budgetMicros) {
+        this.budgetNanos = budgetMicros * 1000L;
+    }
+
+    /** Starts a tick: serves the backlog, oldest first, until the budget is spent. */
+    public void beginTick() {
+        tick++;
+        tickSpentNanos = 0;
+        boolean first = true;
+        while (!queue.isEmpty() && (first || hasBudget())) {
+            run(queue.poll());
+            first = false;
+        }
+    }
+
+    /** Runs the enemy's lookup now if the tick has budget and nobody is waiting, else queues it. */
+    void submit(Enemy e) {
+        e.planRequestTick  = tick;
+        e.planRequestNanos = System.nanoTime();
+        if (queue.isEmpty() && hasBudget()) {
+            run(e);
+            return;
+        }
+        e.planPending = true;
+        queue.add(e);
+        if (queue.size() > maxPending) maxPending = queue.size();
+    }
+
+    /** Ends a tick: the rest of the budget (at least MIN_FLOOD_NANOS) carries the field's flood on. */
+    public void endTick(DistanceField field) {
+        if (!field.isFlooding()) return;
+        long start = System.nanoTime();
+        long slice = budgetNanos <= 0 ? Long.MAX_VALUE / 2
+                                      : Math.max(budgetNanos - tickSpentNanos, MIN_FLOOD_NANOS);
+        field.stepFlood(start + slice);
+        tickSpentNanos += System.nanoTime() - start;
+        if (tickSpentNanos > maxTickNanos) maxTickNanos = tickSpentNanos;
+    }
+
+    private boolean hasBudget() {
+        return budgetNanos <= 0 || tickSpentNanos < budgetNanos;
+    }
+
+    private void run(Enemy e) {
+        e.planPending = false;
+        long start = System.nanoTime();
+        long waitTicks = tick - e.planRequestTick;
+        long waitNanos = start - e.planRequestNanos;
+        if (e.getHealth() > 0) e.lookUp();   // killed while queued: drop
+        tickSpentNanos += System.nanoTime() - start;
+
+        served++;
+        totalWaitTicks += waitTicks;
+        totalWaitNanos += waitNanos;
+        if (waitTicks > maxWaitTicks)        maxWaitTicks = waitTicks;
+        if (waitNanos > maxWaitNanos)        maxWaitNanos = waitNanos;
+        if (tickSpentNanos > maxTickNanos)   maxTickNanos = tickSpentNanos;
+    }
+
+    public void resetStats() {
+        served = totalWaitTicks = maxWaitTicks = totalWaitNanos = maxWaitNanos = maxTickNanos = 0;
+        maxPending = queue.size();
+    }
+
+    // ── Getters ───────────────────────────────────────────────────────────
+    public long   getServedCount()       { return served; }
+    public int    getPendingCount()      { return queue.size(); }
+    public int    getMaxPendingCount()   { return maxPending; }
+    public long   getMaxWaitTicks()      { return maxWaitTicks; }
+    public double getAverageWaitTicks()  { return served == 0 ? 0 : (double) totalWaitTicks / served; }
+    public double getMaxWaitMicros()     { return maxWaitNanos / 1e3; }
+    public double getAverageWaitMicros() { return served == 0 ? 0 : totalWaitNanos / 1e3 / served; }
+    /** Most planning time spent in a single tick. */
+    public double getMaxTickMicros()     { return maxTickNanos / 1e3; }
+    public long   getBudgetMicros()      { return budgetNanos / 1000L; }
+}
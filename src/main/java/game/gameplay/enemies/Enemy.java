@@ -1,13 +1,12 @@
 package game.gameplay.enemies;
 
-import java.util.Collections;
-import java.util.List;
-
 import org.joml.Vector2f;
 
-import game.gameplay.Bullet;
-import game.gameplay.PathFinder;
+import game.gameplay.BulletSystem;
+import game.gameplay.DistanceField;
+import game.gameplay.MazeGrid;
 import game.gameplay.Player;
+import game.gameplay.TimerWheel;
 import game.gameplay.Player.Direction;
 import game.app.GameConfig;
 
@@ -15,8 +14,9 @@ public class Enemy {
     public enum State { ROAMING, CHASING, SHOOTING }
 
     // ── AI state & timing ─────────────────────────────────────────────────
-    protected float shootCooldown    = 0f;
-    private   float shootInterval    = 1f;
+    private TimerWheel timers;               // world clock; set before the first update
+    private long       nextShotTick = 0L;    // world tick the next shot is allowed on
+    private float      shootInterval = 1f;
 
     // ── Stats & movement ──────────────────────────────────────────────────
     private int   health     = 1;     //only adjusts for default enemies (Level 1)
@@ -31,22 +31,35 @@ public class Enemy {
 
     // ── Position & collision ──────────────────────────────────────────────
     private final Vector2f position;
-    private final int[][]  maze;
-    private final int      rows;
+    private final Vector2f prevPosition;  // position at the start of the current tick
+    private final MazeGrid grid;
     private final float    cellSize;
     private float          size;
 
     // ── Path-following fields ──────────────────────────────────────────────
-    private List<int[]> path        = Collections.emptyList();
-    private int         pathIndex   = 0;
-    private float       recalcTimer = 0f;
-    private static final float RECALC_INTERVAL = 0.5f;
-
-    public Enemy(float startX, float startY, int[][] maze, int health, float speed, float chaseRange, float shootRange) {
+    private final DistanceField field;    // shared per level, rooted at the player
+    private boolean     hasWaypoint = false;
+    private int         waypointR, waypointC;
+    private int         fieldDistance = DistanceField.UNREACHABLE;   // own cell, as of the last lookup
+    private long        fieldVersion  = -1;                          // field's version at the last lookup
+
+    // ── Planning (optional scheduler spreads lookups across ticks) ─────────
+    private AiScheduler scheduler;          // null: look up inline
+    boolean             planPending;        // queued in the scheduler
+    long                planRequestTick;
+    long                planRequestNanos;
+
+    // ── Level of detail (driven by AiLod) ──────────────────────────────────
+    float               lodElapsed;         // sim time since the last update
+    long                lodNextTick;        // 0 until first scheduled
+    AiLod.Tier          lodTier = AiLod.Tier.NEAR;
+
+    public Enemy(float startX, float startY, MazeGrid grid, DistanceField field, int health, float speed, float chaseRange, float shootRange) {
         this.position = new Vector2f(startX, startY);
-        this.maze     = maze;
-        this.rows     = maze.length;
-        this.cellSize = 2f / rows;
+        this.prevPosition = new Vector2f(startX, startY);
+        this.grid     = grid;
+        this.field    = field;
+        this.cellSize = grid.getCellSize();
         this.size     = cellSize * 0.2f;
 
         this.health     = health;
@@ -56,9 +69,9 @@ public class Enemy {
         this.shootRange = shootRange;
     }
 
-    public Enemy(float startX, float startY, int[][] maze) {
+    public Enemy(float startX, float startY, MazeGrid grid, DistanceField field) {
         this(
-            startX, startY, maze,
+            startX, startY, grid, field,
             GameConfig.ENEMY_NORMAL_HEALTH,
             GameConfig.ENEMY_NORMAL_SPEED,
             GameConfig.cellsToWorld(GameConfig.ENEMY_NORMAL_CHASE_CELLS),
@@ -70,45 +83,46 @@ public class Enemy {
 
 
     /** Actively chase the player at all times; shoot when in range. */
-    public void update(float dt, Player player, List<Bullet> outBullets) {
-        // 1) Recompute shortest path to the player on a cadence
-        recalcTimer -= dt;
-        if (recalcTimer <= 0f) {
-            recalcTimer = RECALC_INTERVAL;
-            int er = (int)((1 - position.y) / cellSize);
-            int ec = (int)((position.x + 1) / cellSize);
-            Vector2f pp = player.getPosition();
-            int pr = (int)((1 - pp.y) / cellSize);
-            int pc = (int)((pp.x + 1) / cellSize);
-
-            path = PathFinder.findPath(maze, er, ec, pr, pc);
-            pathIndex = 1; // skip current cell
-        }
-
-        // 2) Distance to player in cells (via path length)
-        int distCells = path.size() > 1 ? (path.size() - 1) : Integer.MAX_VALUE;
-
-        // 3) Always move toward the player
+    public void update(float dt, Player player, BulletSystem bullets) {
+        // 1) Always move toward the player (field lookups also refresh the distance)
         followPath(dt);
 
-        // 4) Shoot if in range (keep moving while shooting)
+        // 2) Shoot if in range (keep moving while shooting)
+        int distCells = getDistanceToPlayerInCells();
         if (distCells * cellSize <= shootRange) {
-            shoot(dt, player, outBullets);
+            shoot(player, bullets);
         }
     }
 
-    /** Moves along the A* path, one cell at a time, and sets facing. */
+    /**
+     * Walks down the distance field, one cell at a time, and sets facing.
+     * Travel left over after reaching a waypoint carries on to the next one, so
+     * a long dt (a low-detail update) covers the same ground as that many ticks.
+     * A field that changed since the last lookup (the player moved) asks for a
+     * fresh one, so the kept distance never lags more than the lookup queue.
+     */
     protected void followPath(float dt) {
-        if (pathIndex >= path.size()) return;
+        if (fieldVersion != field.getVersion()) requestLookUp();
+
+        float tickStep = speed * (float) GameConfig.SIM_DT;
+        float arrive   = cellSize * 0.1f;
+        float travel   = speed * dt;
+        while (travel > 0f) {
+            if (!hasWaypoint) {
+                requestLookUp();
+                if (!hasWaypoint) return;   // queued, or nowhere to go
+            }
 
-        int[] cell = path.get(pathIndex);
-        float tx = -1 + cell[1] * cellSize + cellSize/2f;
-        float ty =  1 - cell[0] * cellSize - cellSize/2f;
+            float tx = grid.cellCenterX(waypointC);
+            float ty = grid.cellCenterY(waypointR);
 
-        Vector2f toTarget = new Vector2f(tx, ty).sub(position);
-        if (toTarget.length() < cellSize * 0.1f) {
-            pathIndex++;
-        } else {
+            Vector2f toTarget = new Vector2f(tx, ty).sub(position);
+            float dist = toTarget.length();
+            if (dist < arrive) {
+                hasWaypoint = false;
+                travel -= tickStep;   // arriving takes a tick, as at full rate
+                continue;
+            }
             toTarget.normalize();
             // set facing based on movement vector
             if (Math.abs(toTarget.x) > Math.abs(toTarget.y)) {
@@ -116,23 +130,82 @@ public class Enemy {
             } else {
                 direction = toTarget.y > 0 ? Direction.UP : Direction.DOWN;
             }
-            tryMove(toTarget.x * speed * dt, toTarget.y * speed * dt);
+            // Stop where whole ticks would have: the first step inside the arrival radius
+            float step = Math.min(travel, ((int) ((dist - arrive) / tickStep) + 1) * tickStep);
+            tryMove(toTarget.x * step, toTarget.y * step);
+            travel -= step;
         }
     }
 
-    protected void shoot(float dt, Player player, List<Bullet> outBullets) {
-        shootCooldown -= dt;
-        if (shootCooldown <= 0f) {
-            shootCooldown = shootInterval;
+    private void requestLookUp() {
+        if (scheduler == null) lookUp();
+        else if (!planPending) scheduler.submit(this);
+    }
+
+    /**
+     * Reads the own cell's distance and, without a waypoint, picks the next cell
+     * down the field (inline or from the scheduler). This is the enemy's only
+     * field read, so any repair it sets off is paid inside the scheduler's
+     * budget; the distance is kept for the shoot check.
+     */
+    void lookUp() {
+        int er = grid.worldToRow(position.y);
+        int ec = grid.worldToCol(position.x);
+        fieldDistance = field.distanceAt(er, ec);
+        fieldVersion  = field.getVersion();   // after the read, which may itself change it
+        if (hasWaypoint) return;
+        int next = field.nextStep(er, ec);
+        if (next < 0) return;
+        waypointR   = next / field.getCols();
+        waypointC   = next % field.getCols();
+        hasWaypoint = true;
+    }
+
+    /**
+     * Whether AiLod may thin this enemy's updates out by its field distance.
+     * Enemies that never walk the field (and keep their update cheap) return
+     * false and are updated every tick.
+     */
+    protected boolean usesFieldLod() {
+        return true;
+    }
+
+    /** Drops the waypoint and kept distance (the grid under them changed); the next update looks up afresh. */
+    public void resetPath() {
+        hasWaypoint   = false;
+        fieldDistance = DistanceField.UNREACHABLE;
+        fieldVersion  = -1;
+    }
+
+    /** Routes field lookups through a per-tick budget (null: inline). */
+    public void setScheduler(AiScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /** Uses the world's timers for cooldowns and wake-ups. */
+    public void setTimers(TimerWheel timers) {
+        this.timers = timers;
+    }
+
+    /** True (and restarts the cooldown) if the shot cooldown has run out on the world clock. */
+    protected boolean takeShot() {
+        long now = timers.getNow();
+        if (now < nextShotTick) return false;
+        nextShotTick = now + TimerWheel.ticks(shootInterval);
+        return true;
+    }
+
+    protected void shoot(Player player, BulletSystem bullets) {
+        if (takeShot()) {
             Vector2f diff = new Vector2f(player.getPosition()).sub(position).normalize();
             Player.Direction shootDir = 
                   Math.abs(diff.x) > Math.abs(diff.y)
                 ? (diff.x > 0 ? Direction.RIGHT : Direction.LEFT)
                 : (diff.y > 0 ? Direction.UP    : Direction.DOWN);
 
-            outBullets.add(new Bullet(
-                position.x, position.y, shootDir, maze, rows, GameConfig.ENEMY_BULLET_SPEED
-            ));
+            bullets.spawn(
+                position.x, position.y, shootDir, GameConfig.ENEMY_BULLET_SPEED, BulletSystem.OWNER_ENEMY
+            );
         }
     }
 
@@ -157,17 +230,15 @@ public class Enemy {
     /** True if any corner of the tank overlaps a wall cell. */
     private boolean collides(float cx, float cy) {
         float r = size;
-        return cellIsWall(cx - r, cy - r)
-            || cellIsWall(cx - r, cy + r)
-            || cellIsWall(cx + r, cy - r)
-            || cellIsWall(cx + r, cy + r);
+        return grid.isWallAt(cx - r, cy - r)
+            || grid.isWallAt(cx - r, cy + r)
+            || grid.isWallAt(cx + r, cy - r)
+            || grid.isWallAt(cx + r, cy + r);
     }
 
-    private boolean cellIsWall(float wx, float wy) {
-        int gx = (int)((wx + 1f) / cellSize);
-        int gy = (int)((1f - wy) / cellSize);
-        if (gx < 0 || gy < 0 || gx >= rows || gy >= rows) return true;
-        return maze[gy][gx] == 1;
+    /** Remembers the current position so rendering can interpolate to the next tick. */
+    public void storePrevious() {
+        prevPosition.set(position);
     }
 
     /** Called when hit by a bullet; returns true if dead. */
@@ -180,27 +251,30 @@ public class Enemy {
     // ── Getters for rendering and AI ───────────────────────────────────────
     public float      getX()             { return position.x; }
     public float      getY()             { return position.y; }
+    public float      getRenderX(float alpha) { return prevPosition.x + (position.x - prevPosition.x) * alpha; }
+    public float      getRenderY(float alpha) { return prevPosition.y + (position.y - prevPosition.y) * alpha; }
     public float      getSize()          { return size; }
     public int        getHealth()        { return health; }
     public Vector2f   getPosition()      { return new Vector2f(position); }
-    protected int[][] getMaze()          { return maze;}
-    protected int     getMazeRows()      { return rows;}
+    protected MazeGrid getGrid()         { return grid;}
     public float      getShootInterval() { return shootInterval; }
     protected float   getCellSize()      { return cellSize;}
     protected float   getChaseRange()    { return chaseRange;}
     protected float   getShootRange()    { return shootRange;}
+    protected TimerWheel getTimers()     { return timers; }
     public int        getMaxHealth()     { return maxHealth;}
-
-
-    protected int     getDistanceToPlayerInCells(Player player) {
-        int er = (int) ((1 - position.y) / cellSize);
-        int ec = (int) ((position.x + 1) / cellSize);
-        Vector2f pp = player.getPosition();
-        int pr = (int) ((1 - pp.y) / cellSize);
-        int pc = (int) ((pp.x + 1) / cellSize);
-
-        List<int[]> pathToPlayer = PathFinder.findPath(maze, er, ec, pr, pc);
-        return (pathToPlayer.size() > 1) ? pathToPlayer.size() - 1 : Integer.MAX_VALUE;
+    public AiLod.Tier getLodTier()       { return lodTier; }
+    /** Own cell's field distance as of the last lookup (UNREACHABLE before the first). */
+    int               getFieldDistance() { return fieldDistance; }
+
+
+    /**
+     * Path length to the player in cells as of the last lookup;
+     * MAX_VALUE when unreachable or sharing a cell.
+     */
+    protected int     getDistanceToPlayerInCells() {
+        int d = fieldDistance;
+        return (d > 0 && d != DistanceField.UNREACHABLE) ? d : Integer.MAX_VALUE;
     }
 
     // ── Setters for rendering and AI ───────────────────────────────────────
@@ -212,7 +286,7 @@ public class Enemy {
     }
 
     public void setCustomSize(float scale) {
-        this.size = (2f / rows) * 0.2f * scale; // default size scaled
+        this.size = cellSize * 0.2f * scale; // default size scaled
     }
 
     protected void setDirection(Direction dir) {
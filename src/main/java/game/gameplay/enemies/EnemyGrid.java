@@ -0,0 +1,85 @@
+package game.gameplay.enemies;
+
+import java.util.Arrays;
+import java.util.List;
+
+import game.gameplay.MazeGrid;
+
+/**
+ * Uniform-grid spatial index of enemies, bucketed by maze cell.
+ * Rebuilt once per tick in O(enemies); a point query only looks at the
+ * 3x3 cells around the point, so bullet-vs-enemy checks stay linear in
+ * the number of bullets no matter how many enemies are alive.
+ */
+public final class EnemyGrid {
+    private final MazeGrid grid;
+    private final int      rows;
+    private final int      cols;
+
+    // Intrusive per-cell linked lists: head[cell] → slot → next[slot] → ... → -1
+    private final int[] head;
+    private int[] next   = new int[16];
+    private int[] cellOf = new int[16];
+    private int   count  = 0;
+
+    private List<Enemy> enemies;
+
+    public EnemyGrid(MazeGrid grid) {
+        this.grid = grid;
+        this.rows = grid.getRows();
+        this.cols = grid.getCols();
+        this.head = new int[rows * cols];
+        Arrays.fill(head, -1);
+    }
+
+    /** Re-buckets every enemy by its current cell. Slot i refers to enemies.get(i). */
+    public void rebuild(List<Enemy> enemies) {
+        // Only reset the buckets we filled last time
+        for (int i = 0; i < count; i++) head[cellOf[i]] = -1;
+
+        this.enemies = enemies;
+        count = enemies.size();
+        if (next.length < count) {
+            next   = new int[Math.max(count, next.length * 2)];
+            cellOf = new int[next.length];
+        }
+
+        for (int i = 0; i < count; i++) {
+            Enemy e = enemies.get(i);
+            int r = clamp(grid.worldToRow(e.getY()), rows);
+            int c = clamp(grid.worldToCol(e.getX()), cols);
+            int cell  = r * cols + c;
+            cellOf[i] = cell;
+            next[i]   = head[cell];
+            head[cell] = i;
+        }
+    }
+
+    /**
+     * Returns the list index of the first live enemy whose hit box contains (x, y),
+     * or -1 if none does. Enemy hit boxes are smaller than a cell, so the 3x3
+     * neighbourhood of the point's cell is enough.
+     */
+    public int findHit(float x, float y) {
+        int r0 = grid.worldToRow(y), c0 = grid.worldToCol(x);
+        int best = -1;
+        for (int r = Math.max(0, r0 - 1); r <= Math.min(rows - 1, r0 + 1); r++) {
+            for (int c = Math.max(0, c0 - 1); c <= Math.min(cols - 1, c0 + 1); c++) {
+                for (int i = head[r * cols + c]; i != -1; i = next[i]) {
+                    if (best != -1 && i > best) continue;
+                    Enemy en = enemies.get(i);
+                    if (en.getHealth() == 0) continue;   // killed earlier this tick
+                    if (Math.abs(x - en.getX()) < en.getSize() &&
+                        Math.abs(y - en.getY()) < en.getSize()) {
+                        best = i;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    private static int clamp(int v, int n) {
+        return v < 0 ? 0 : (v >= n ? n - 1 : v);
+    }
+}
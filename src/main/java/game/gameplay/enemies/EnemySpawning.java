@@ -1,15 +1,18 @@
 // src/main/java/game/gameplay/enemies/EnemySpawning.java
 package game.gameplay.enemies;
 
+import game.gameplay.DistanceField;
+import game.gameplay.MazeGrid;
+
 public final class EnemySpawning {
   private EnemySpawning() {}
 
-  public static Enemy create(EnemyType kind, float x, float y, int[][] maze) {
+  public static Enemy create(EnemyType kind, float x, float y, MazeGrid grid, DistanceField field) {
     switch (kind) {
-      case NORMAL: return new Enemy(x, y, maze);
-      case TANK:   return new TankEnemy(x, y, maze);
-      case MINI:   return new MiniEnemy(x, y, maze);
-      case SNIPER: return new SniperEnemy(x, y, maze);
+      case NORMAL: return new Enemy(x, y, grid, field);
+      case TANK:   return new TankEnemy(x, y, grid, field);
+      case MINI:   return new MiniEnemy(x, y, grid, field);
+      case SNIPER: return new SniperEnemy(x, y, grid, field);
       default: throw new IllegalArgumentException("Unknown kind: " + kind);
     }
   }
@@ -1,11 +1,13 @@
 package game.gameplay.enemies;
 
 import game.app.GameConfig;
+import game.gameplay.DistanceField;
+import game.gameplay.MazeGrid;
 
 public class MiniEnemy extends Enemy {
-    public MiniEnemy(float x, float y, int[][] maze) {
+    public MiniEnemy(float x, float y, MazeGrid grid, DistanceField field) {
         super(
-            x, y, maze,
+            x, y, grid, field,
             GameConfig.ENEMY_MINI_HEALTH,
             GameConfig.ENEMY_MINI_SPEED,
             GameConfig.cellsToWorld(GameConfig.ENEMY_MINI_CHASE_CELLS),
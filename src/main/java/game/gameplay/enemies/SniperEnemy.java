@@ -4,24 +4,30 @@ import java.util.ArrayList;
 import java.util.List;
 
 import game.app.GameConfig;
-import game.gameplay.Bullet;
+import game.gameplay.BulletSystem;
+import game.gameplay.DistanceField;
+import game.gameplay.MazeGrid;
 import game.gameplay.Player;
 import game.gameplay.Player.Direction;
+import game.gameplay.TimerWheel;
+import game.gameplay.WallRays;
 
 public class SniperEnemy extends Enemy {
 
-    // Behavior (use config for cooldown; keep aim delay here or add a constant)
+    // Behavior: aim for AIM_DELAY once the player shows up in the watched corridor, then fire
     private static final float AIM_DELAY = 0.5f;
-    private static final float SHOOT_COOLDOWN = (float) GameConfig.ENEMY_SNIPER_FIRE_COOLDOWN;
 
-    private float aimTimer = 0f;
-    private boolean isAiming = false;
+    private final TimerWheel.Timer aimTimer = new TimerWheel.Timer(this::fireAimedShot);
+    private boolean      isAiming  = false;
+    private int          scanIndex = 0;      // last world scan step seen
+    private BulletSystem aimBullets;         // where the aimed shot goes when it fires
+    private WallRays     rays;               // shared per level: open run lengths for line of sight
 
     private final List<Direction> watchDirections = new ArrayList<>();
 
-    public SniperEnemy(float x, float y, int[][] maze) {
+    public SniperEnemy(float x, float y, MazeGrid grid, DistanceField field) {
         super(
-            x, y, maze,
+            x, y, grid, field,
             GameConfig.ENEMY_SNIPER_HEALTH,
             GameConfig.ENEMY_SNIPER_SPEED, // 0 => stationary, still fine
             GameConfig.cellsToWorld(GameConfig.ENEMY_SNIPER_CHASE_CELLS),
@@ -31,106 +37,74 @@ public class SniperEnemy extends Enemy {
         this.setCustomSize(GameConfig.ENEMY_SNIPER_SIZE_SCALE);
 
         // Detect open corridors around spawn
-        int er = (int)((1 - y) / (2f / maze.length));
-        int ec = (int)((x + 1) / (2f / maze.length));
-        if (isOpen(er - 1, ec, maze)) watchDirections.add(Direction.UP);
-        if (isOpen(er + 1, ec, maze)) watchDirections.add(Direction.DOWN);
-        if (isOpen(er, ec - 1, maze)) watchDirections.add(Direction.LEFT);
-        if (isOpen(er, ec + 1, maze)) watchDirections.add(Direction.RIGHT);
+        int open = grid.neighbourMask(grid.worldToRow(y), grid.worldToCol(x));
+        if ((open & MazeGrid.OPEN_UP)    != 0) watchDirections.add(Direction.UP);
+        if ((open & MazeGrid.OPEN_DOWN)  != 0) watchDirections.add(Direction.DOWN);
+        if ((open & MazeGrid.OPEN_LEFT)  != 0) watchDirections.add(Direction.LEFT);
+        if ((open & MazeGrid.OPEN_RIGHT) != 0) watchDirections.add(Direction.RIGHT);
         if (watchDirections.isEmpty()) watchDirections.add(Direction.UP);
         setDirection(watchDirections.get(0));
     }
 
-    private boolean isOpen(int r, int c, int[][] maze) {
-        return r >= 0 && c >= 0 && r < maze.length && c < maze[0].length && maze[r][c] == 0;
+    /**
+     * Only looks for the player; the aimed shot and the turns between corridors
+     * are wake-ups on the world's timers, not per-tick countdowns.
+     */
+    @Override
+    public void update(float dt, Player player, BulletSystem bullets) {
+        if (isAiming) return;   // locked on until the aimed shot goes off
+        if (playerInWatchedCorridor(player)) {
+            isAiming   = true;
+            aimBullets = bullets;
+            getTimers().schedule(aimTimer, TimerWheel.ticks(AIM_DELAY));
+        } else {
+            setDirection(scanDirection());   // back to scanning after a shot
+        }
     }
 
-    @Override
-    public void update(float dt, Player player, List<Bullet> enemyBullets) {
+    /** World scan clock stepped: every sniper not busy aiming turns to the next corridor. */
+    public void scan(int index) {
+        scanIndex = index;
+        if (!isAiming) setDirection(scanDirection());
+    }
 
-        boolean playerInSight = playerInWatchedCorridor(player);
+    /** Stationary, and the update is an O(1) sight check: no reason to skip ticks. */
+    @Override
+    protected boolean usesFieldLod() {
+        return false;
+    }
 
-        // ✅ If currently aiming/shooting, LOCK direction & skip global scanning
-        if (isAiming || playerInSight) {
-            aimTimer -= dt;
+    @Override
+    public boolean hit() {
+        boolean dead = super.hit();
+        if (dead) getTimers().cancel(aimTimer);
+        return dead;
+    }
 
-            if (!isAiming) {
-                isAiming = true;
-                aimTimer = AIM_DELAY;
-            } else if (aimTimer <= 0f) {
-                // 🔹 Fire sniper bullet
-                enemyBullets.add(createSniperBullet());
-                aimTimer = SHOOT_COOLDOWN;
-                isAiming = false;
-            }
+    private Direction scanDirection() {
+        return watchDirections.get(scanIndex % watchDirections.size());
+    }
 
-        } else {
-            // ✅ Only rotate if not aiming or shooting
-            GameConfig.GLOBAL_SCAN_TIMER += dt;
-            if ( GameConfig.GLOBAL_SCAN_TIMER >=  GameConfig.SCAN_INTERVAL) {
-                 GameConfig.GLOBAL_SCAN_TIMER = 0f;
-                 GameConfig.GLOBAL_DIRECTION_INDEX++;
-            }
-
-            if (!watchDirections.isEmpty()) {
-                int dirIndex =  GameConfig.GLOBAL_DIRECTION_INDEX % watchDirections.size();
-                setDirection(watchDirections.get(dirIndex));
-            }
-
-            aimTimer = 0;
-        }
+    private void fireAimedShot() {
+        fireSniperBullet(aimBullets);
+        isAiming = false;
     }
 
+    /** Uses the level's wall runs for line of sight; set by the world before the first update. */
+    public void setRays(WallRays rays) {
+        this.rays = rays;
+    }
 
     // Corridor detection (only fires if player is in LOS in the current direction)
     private boolean playerInWatchedCorridor(Player player) {
-        Direction dir = getDirection();
-        int[][] maze = getMaze();
-        int rows = getMazeRows();
-        float cellSize = 2f / rows;
-
-        // Convert positions to grid
-        int er = (int)((1 - getY()) / cellSize);
-        int ec = (int)((getX() + 1) / cellSize);
-        int pr = (int)((1 - player.getY()) / cellSize);
-        int pc = (int)((player.getX() + 1) / cellSize);
-
-        switch (dir) {
-            case UP:
-                if (pc != ec) return false;
-                for (int r = er - 1; r >= 0; r--) {
-                    if (maze[r][ec] == 1) return false;
-                    if (r == pr) return true;
-                }
-                break;
-            case DOWN:
-                if (pc != ec) return false;
-                for (int r = er + 1; r < rows; r++) {
-                    if (maze[r][ec] == 1) return false;
-                    if (r == pr) return true;
-                }
-                break;
-            case LEFT:
-                if (pr != er) return false;
-                for (int c = ec - 1; c >= 0; c--) {
-                    if (maze[er][c] == 1) return false;
-                    if (c == pc) return true;
-                }
-                break;
-            case RIGHT:
-                if (pr != er) return false;
-                for (int c = ec + 1; c < rows; c++) {
-                    if (maze[er][c] == 1) return false;
-                    if (c == pc) return true;
-                }
-                break;
-        }
-        return false;
+        MazeGrid grid = getGrid();
+        return rays.inSight(grid.worldToRow(getY()), grid.worldToCol(getX()),
+                            grid.worldToRow(player.getY()), grid.worldToCol(player.getX()), getDirection());
     }
 
     // ✅ Custom sniper bullet
-    private Bullet createSniperBullet() {
-        return new Bullet(getX(), getY(), getDirection(), getMaze(), getMazeRows(), GameConfig.SNIPER_BULLET_SPEED, GameConfig.SNIPER_BULLET_SIZE);
+    private void fireSniperBullet(BulletSystem bullets) {
+        bullets.spawn(getX(), getY(), getDirection(), GameConfig.SNIPER_BULLET_SPEED, GameConfig.SNIPER_BULLET_SIZE, BulletSystem.OWNER_ENEMY);
     }
 }
 
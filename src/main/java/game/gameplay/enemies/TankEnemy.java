@@ -1,17 +1,17 @@
 package game.gameplay.enemies;
 
-import java.util.List;
-
 import game.app.GameConfig;
-import game.gameplay.Bullet;
+import game.gameplay.BulletSystem;
+import game.gameplay.DistanceField;
+import game.gameplay.MazeGrid;
 import game.gameplay.Player;
 import game.gameplay.Player.Direction;
 
 public class TankEnemy extends Enemy {
 
-    public TankEnemy(float x, float y, int[][] maze) {
+    public TankEnemy(float x, float y, MazeGrid grid, DistanceField field) {
         super(
-            x, y, maze,
+            x, y, grid, field,
             GameConfig.ENEMY_TANK_HEALTH,
             GameConfig.ENEMY_TANK_SPEED,
             GameConfig.cellsToWorld(GameConfig.ENEMY_TANK_CHASE_CELLS),
@@ -22,15 +22,12 @@ public class TankEnemy extends Enemy {
     }
 
     @Override
-    protected void shoot(float dt, Player player, List<Bullet> outBullets) {
-        shootCooldown -= dt;
-        if (shootCooldown <= 0f) {
-            shootCooldown = getShootInterval();
-
+    protected void shoot(Player player, BulletSystem bullets) {
+        if (takeShot()) {
             Direction shootDir = getDirectionToPlayer(player);
 
             // ✅ Fires a big, slow shell (0.5x speed, 2x size)
-            outBullets.add(new Bullet(getX(), getY(), shootDir, getMaze(), getMazeRows(), 0.5f, 2.0f));
+            bullets.spawn(getX(), getY(), shootDir, 0.5f, 2.0f, BulletSystem.OWNER_ENEMY);
         }
     }
 
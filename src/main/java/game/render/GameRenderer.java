@@ -11,6 +11,8 @@ import static org.lwjgl.opengl.GL11.glTranslatef;
 import static org.lwjgl.opengl.GL11.glVertex2f;
 
 import game.app.GameState;
+import game.gameplay.BulletSystem;
+import game.gameplay.MazeGrid;
 import game.gameplay.Player;
 import game.gameplay.Player.Direction;
 import game.gameplay.enemies.Enemy;
@@ -20,16 +22,34 @@ import game.gameplay.enemies.TankEnemy;
 
 public class GameRenderer {
 
-    private final int[][] maze;
+    private final MazeGrid grid;
     private final Player player;
     public final float cellSize;
     public final float halfCell;
 
-    public GameRenderer(int[][] maze, Player player, FontRenderer fontRenderer) {
-        this.maze = maze;
+    // Exit cell (whole-level coordinates) and the centre of the 2x2 world-unit view
+    private int   exitRow, exitCol;
+    private float viewX, viewY;
+
+    public GameRenderer(MazeGrid grid, Player player, FontRenderer fontRenderer) {
+        this.grid = grid;
         this.player = player;
-        this.cellSize = 2.0f / maze.length;
+        this.cellSize = grid.getCellSize();
         this.halfCell = cellSize / 2f;
+        this.exitRow = grid.getRows() - 2;
+        this.exitCol = grid.getCols() - 2;
+    }
+
+    /** Exit cell to draw, in whole-level cells (for windows onto a bigger level). */
+    public void setExitCell(int row, int col) {
+        exitRow = row;
+        exitCol = col;
+    }
+
+    /** Centre of the view the caller's projection shows; walls outside it are skipped. */
+    public void setView(float x, float y) {
+        viewX = x;
+        viewY = y;
     }
 
     // ──────────────────────────────────────────────
@@ -53,20 +73,24 @@ public class GameRenderer {
 
 
     // ──────────────────────────────────────────────
-    // Render everything
+    // Render everything (alpha = 0..1 between the last two sim ticks)
     // ──────────────────────────────────────────────
-    public void render(GameState state, boolean enemiesDefeated, List<Enemy> enemies, int level) {
+    public void render(GameState state, boolean enemiesDefeated, List<Enemy> enemies, int level, float alpha) {
 
         // Select colors for this level
         float[] wallColor = wallColors[Math.min(level - 1, wallColors.length - 1)];
 
-        // 1) Draw static maze walls
+        // 1) Draw static maze walls (only the cells in view)
         glColor3f(wallColor[0], wallColor[1], wallColor[2]);
-        for (int r = 0; r < maze.length; r++) {
-            for (int c = 0; c < maze[r].length; c++) {
-                if (maze[r][c] == 1) {
-                    float cx = -1 + c * cellSize + halfCell;
-                    float cy = 1 - r * cellSize - halfCell;
+        int r0 = Math.max(0, grid.worldToRow(viewY + 1f) - 1);
+        int r1 = Math.min(grid.getRows() - 1, grid.worldToRow(viewY - 1f) + 1);
+        int c0 = Math.max(0, grid.worldToCol(viewX - 1f) - 1);
+        int c1 = Math.min(grid.getCols() - 1, grid.worldToCol(viewX + 1f) + 1);
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                if (grid.isWall(r, c)) {
+                    float cx = grid.cellCenterX(c);
+                    float cy = grid.cellCenterY(r);
                     glLoadIdentity();
                     glTranslatef(cx, cy, 0f);
                     glBegin(GL_QUADS);
@@ -81,9 +105,8 @@ public class GameRenderer {
 
         // 2) Draw exit only if all enemies are defeated
         if (enemiesDefeated) {
-            int N = maze.length;
-            float gx = -1 + (N - 2) * cellSize + halfCell;
-            float gy = 1 - (N - 2) * cellSize - halfCell;
+            float gx = grid.cellCenterX(exitCol - grid.getColOrigin());
+            float gy = grid.cellCenterY(exitRow - grid.getRowOrigin());
             glColor3f(0f, 1f, 1f); // Cyan for unlocked exit
             glLoadIdentity();
             glTranslatef(gx, gy, 0f);
@@ -99,7 +122,7 @@ public class GameRenderer {
         float s = player.getSize();
         glColor3f(1f, 1f, 1f); // player body
         glLoadIdentity();
-        glTranslatef(player.getX(), player.getY(), 0f);
+        glTranslatef(player.getRenderX(alpha), player.getRenderY(alpha), 0f);
         glBegin(GL_QUADS);
             glVertex2f(-s, -s);
             glVertex2f( s, -s);
@@ -159,7 +182,7 @@ if (e instanceof TankEnemy) {
 
 
     glLoadIdentity();
-    glTranslatef(e.getX(), e.getY(), 0f);
+    glTranslatef(e.getRenderX(alpha), e.getRenderY(alpha), 0f);
     glColor3f(color[0], color[1], color[2]);
 
     // ====== BODY RENDERING ======
@@ -222,23 +245,24 @@ if (e instanceof TankEnemy) {
 
 
 }
-}
-
-    
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
 
+    // ──────────────────────────────────────────────
+    // Bullets (white = player, red = enemy)
+    // ──────────────────────────────────────────────
+    public void renderBullets(BulletSystem bullets, float alpha) {
+        for (int i = 0; i < bullets.getCount(); i++) {
+            if (bullets.getOwner(i) == BulletSystem.OWNER_PLAYER) glColor3f(1f, 1f, 1f);
+            else                                                  glColor3f(1f, 0f, 0f);
 
+            float s = bullets.getSize(i);
+            glLoadIdentity();
+            glTranslatef(bullets.getRenderX(i, alpha), bullets.getRenderY(i, alpha), 0f);
+            glBegin(GL_QUADS);
+                glVertex2f(-s, -s);
+                glVertex2f( s, -s);
+                glVertex2f( s,  s);
+                glVertex2f(-s,  s);
+            glEnd();
+        }
+    }
+}
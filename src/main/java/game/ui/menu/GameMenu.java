@@ -7,6 +7,7 @@ import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -20,6 +21,9 @@ import javax.swing.Timer;
 
 import game.app.GameConfig;
 import game.audio.MusicPlayer;
+import game.gameplay.LevelFile;
+import game.gameplay.MazeGenerator;
+import game.gameplay.MazeGrid;
 
 public class GameMenu extends JPanel implements ActionListener, SettingsChangeListener 
 {
@@ -30,39 +34,8 @@ public class GameMenu extends JPanel implements ActionListener, SettingsChangeLi
     private final Runnable onStart;
 
     
- // Maze definition (28 rows x 36 cols, 1 = wall, 0 = path)
-    private final int[][] maze = 
-    {
-        {1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1},
-        {1,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,1},
-        {1,0,1,1,1,1,1,0,1,0,1,1,1,1,0,1,0,1,0,1,0,1,0,1,1,1,1,0,1,0,1,1,1,1,0,1},
-        {1,0,0,0,0,0,1,0,0,0,1,0,0,0,0,1,0,0,0,1,0,1,0,0,0,0,1,0,1,0,0,0,0,0,0,1},
-        {1,1,1,1,1,0,1,1,1,0,1,1,1,1,0,1,1,1,0,1,0,1,1,1,1,0,1,0,1,1,1,1,1,1,0,1},
-        {1,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,1},
-        {1,0,1,1,1,1,1,1,0,1,1,1,1,1,0,1,1,1,0,1,1,1,1,1,1,0,1,1,1,1,0,1,1,1,1,1},
-        {1,0,0,0,0,0,0,1,0,0,0,0,0,0,0,1,0,0,0,1,0,0,0,0,0,0,1,0,0,0,0,1,0,0,0,1},
-        {1,1,1,1,1,1,0,1,1,1,1,1,0,1,1,1,1,1,0,1,1,1,1,1,0,1,1,1,1,1,0,1,1,1,0,1},
-        {1,0,0,0,0,1,0,0,0,0,0,1,0,0,0,0,0,1,0,0,0,1,0,0,0,0,0,1,0,0,0,0,0,1,0,1},
-        {1,0,1,1,0,1,1,1,1,1,0,1,1,1,1,1,0,1,1,1,0,1,1,1,1,1,0,1,1,1,1,1,0,1,0,1},
-        {1,0,0,1,0,0,0,0,0,1,0,0,0,0,0,0,0,1,0,0,0,1,0,0,0,0,0,0,0,0,0,1,0,0,0,1},
-        {1,1,0,1,1,1,1,1,0,1,0,1,1,1,1,1,0,1,0,1,0,1,1,1,1,1,0,1,1,1,1,1,0,1,1,0,1},
-        {1,0,0,0,0,0,0,1,0,0,0,0,0,0,0,1,0,0,0,1,0,0,0,0,0,0,0,0,0,0,0,1,0,0,0,0,1},
-        {1,0,1,1,1,1,0,1,1,1,1,1,1,1,0,1,1,1,1,1,1,1,1,1,1,1,0,1,1,1,0,1,1,1,1,0,1},
-        {1,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,1},
-        {1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1},
-        // Add extra rows here (like a repeat or new paths) to reach ~28 rows
-        {1,0,1,1,1,1,1,1,0,1,1,1,1,1,0,1,1,1,0,1,1,1,1,1,1,0,1,1,1,1,0,1,1,1,1,1},
-        {1,0,0,0,0,0,0,1,0,0,0,0,0,0,0,1,0,0,0,1,0,0,0,0,0,0,1,0,0,0,0,1,0,0,0,1},
-        {1,1,1,1,1,1,0,1,1,1,1,1,0,1,1,1,1,1,0,1,1,1,1,1,0,1,1,1,1,1,0,1,1,1,0,1},
-        {1,0,0,0,0,1,0,0,0,0,0,1,0,0,0,0,0,1,0,0,0,1,0,0,0,0,0,1,0,0,0,0,0,1,0,1},
-        {1,0,1,1,0,1,1,1,1,1,0,1,1,1,1,1,0,1,1,1,0,1,1,1,1,1,0,1,1,1,1,1,0,1,0,1},
-        {1,0,0,1,0,0,0,0,0,1,0,0,0,0,0,0,0,1,0,0,0,1,0,0,0,0,0,0,0,0,0,1,0,0,0,1},
-        {1,1,0,1,1,1,1,1,0,1,0,1,1,1,1,1,0,1,0,1,0,1,1,1,1,1,0,1,1,1,1,1,0,1,1,0,1},
-        {1,0,0,0,0,0,0,1,0,0,0,0,0,0,0,1,0,0,0,1,0,0,0,0,0,0,0,0,0,0,0,1,0,0,0,0,1},
-        {1,0,1,1,1,1,0,1,1,1,1,1,1,1,0,1,1,1,1,1,1,1,1,1,1,1,0,1,1,1,0,1,1,1,1,0,1},
-        {1,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,1},
-        {1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1},
-    };
+ // Background maze (28 rows x 36 cols), baked into resources/levels/menu.lvl
+    private final MazeGrid maze = loadMenuMaze();
 
     private Tank player;
     private java.util.List<Tank> enemies = new ArrayList<>();
@@ -189,8 +162,8 @@ protected void paintComponent(Graphics g)
     g2.fillRect(0, 0, getWidth(), getHeight());
 
     // Calculate dynamic cell size to fit the panel
-    int rows = maze.length;
-    int cols = maze[0].length;
+    int rows = maze.getRows();
+    int cols = maze.getCols();
     int cellWidth = getWidth() / cols;
     int cellHeight = getHeight() / rows;
     int cellSize = Math.min(cellWidth, cellHeight); // Keep cells square
@@ -200,7 +173,7 @@ protected void paintComponent(Graphics g)
     {
         for (int c = 0; c < cols; c++) 
         {
-            if (maze[r][c] == 1) 
+            if (maze.isWall(r, c)) 
             {
                 g2.setColor(Color.DARK_GRAY);
             } 
@@ -273,10 +246,10 @@ private void respawnPlayer()
     
     do 
     {
-        r = rand.nextInt(maze.length);
-        c = rand.nextInt(maze[0].length);
+        r = rand.nextInt(maze.getRows());
+        c = rand.nextInt(maze.getCols());
     } 
-    while (maze[r][c] == 1);  // ensure not a wall
+    while (maze.isWall(r, c));  // ensure not a wall
     
     player.row = r;
     player.col = c;
@@ -290,16 +263,25 @@ private void respawnPlayer()
         
         do 
         {
-            r = rand.nextInt(maze.length);
-            c = rand.nextInt(maze[0].length);
+            r = rand.nextInt(maze.getRows());
+            c = rand.nextInt(maze.getCols());
         } 
-        while (maze[r][c] == 1 || (r == 1 && c == 1));
+        while (maze.isWall(r, c) || (r == 1 && c == 1));
         
         enemies.add(new Tank(c, r, Color.RED, false));
     }
 
     public void stopAudio() { music.stop(); }
 
+    private static MazeGrid loadMenuMaze() {
+        try {
+            return LevelFile.fromResource(GameConfig.MENU_MAZE_PATH).toGrid();
+        } catch (IOException e) {
+            System.err.println("Could not load menu maze: " + e.getMessage());
+            return new MazeGenerator(27, 35).getGrid();   // any maze will do behind the buttons
+        }
+    }
+
     // ================= Tank Class =================
     private class Tank 
     {
@@ -331,7 +313,7 @@ private void respawnPlayer()
             for (int[] d : dirs) 
             {
                 int nr = row + d[1], nc = col + d[0];
-                if (maze[nr][nc] == 0) { row = nr; col = nc; break; }
+                if (maze.isOpen(nr, nc)) { row = nr; col = nc; break; }
             }
         }
 
@@ -346,7 +328,7 @@ private void respawnPlayer()
                 col += Integer.signum(target.col - col);
             }
 
-            if (maze[row][col] == 1) 
+            if (maze.isWall(row, col)) 
             {
                 // Undo if hit wall
                 if (Math.abs(target.row - row) > Math.abs(target.col - col)) 